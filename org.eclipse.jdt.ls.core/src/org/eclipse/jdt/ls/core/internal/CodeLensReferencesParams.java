@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.TextDocumentPositionParams;
+
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * The parameters of a code lens references request: the position of the code
+ * lens, and the handle of the element it counts the references of, both sent
+ * in the arguments of its command.
+ */
+public class CodeLensReferencesParams extends TextDocumentPositionParams {
+
+	/**
+	 * The handle identifier of the referenced element
+	 *
+	 */
+	@SerializedName("handle")
+	@Expose
+	private String handle;
+
+	public CodeLensReferencesParams() {
+	}
+
+	public CodeLensReferencesParams(TextDocumentIdentifier textDocument, Position position, String handle) {
+		super(textDocument, textDocument.getUri(), position);
+		this.handle = handle;
+	}
+
+	/**
+	 * The handle identifier of the referenced element
+	 *
+	 * @return
+	 *     The handle, might be <code>null</code>
+	 */
+	public String getHandle() {
+		return handle;
+	}
+
+	/**
+	 * The handle identifier of the referenced element
+	 *
+	 * @param handle
+	 *     The handle
+	 */
+	public void setHandle(String handle) {
+		this.handle = handle;
+	}
+}
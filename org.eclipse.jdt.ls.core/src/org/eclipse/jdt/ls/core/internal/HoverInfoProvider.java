@@ -10,8 +10,6 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal;
 
-import java.io.IOException;
-import java.io.Reader;
 import java.util.stream.Stream;
 
 import org.eclipse.core.runtime.CoreException;
@@ -23,10 +21,11 @@ import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.ISourceRange;
 import org.eclipse.jdt.core.ITypeParameter;
 import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.ls.core.internal.handlers.JsonRpcHelpers;
+import org.eclipse.jdt.ls.core.internal.hover.HoverCache;
 import org.eclipse.jdt.ls.core.internal.hover.JavaElementLabels;
-import org.eclipse.jdt.ls.core.internal.javadoc.JavadocContentAccess;
-
-import com.google.common.io.CharStreams;
+import org.eclipse.jdt.ls.core.internal.javadoc.JavadocCache;
 
 public class HoverInfoProvider {
 
@@ -50,6 +49,19 @@ public class HoverInfoProvider {
 	}
 
 	public String computeHover(int line, int column) {
+		int offset = -1;
+		try {
+			IBuffer buffer = unit.getBuffer();
+			if (buffer != null) {
+				offset = JsonRpcHelpers.toOffset(buffer, line, column);
+			}
+		} catch (JavaModelException e) {
+			// not cached
+		}
+		return HoverCache.getInstance().getHover(unit, offset, () -> computeUncachedHover(line, column));
+	}
+
+	private String computeUncachedHover(int line, int column) {
 		try {
 			IJavaElement[] elements = JDTUtils.findElementsAtSelection(unit, line, column);
 			if(elements == null || elements.length == 0) {
@@ -91,9 +103,7 @@ public class HoverInfoProvider {
 		} else if (element instanceof IMember) {
 			member= (IMember) element;
 		} else if (element instanceof IPackageFragment) {
-			Reader r = JavadocContentAccess.getHTMLContentReader((IPackageFragment) element, true);
-			if(r == null ) return null;
-			return getString(r);
+			return JavadocCache.getInstance().getHTMLContent((IPackageFragment) element, true);
 		} else {
 			return null;
 		}
@@ -105,23 +115,6 @@ public class HoverInfoProvider {
 
 		ISourceRange javadocRange= member.getJavadocRange();
 		if(javadocRange == null ) return null;
-		Reader r = JavadocContentAccess.getHTMLContentReader(member,true,true);
-		if(r == null ) return null;
-		return getString(r);
-	}
-
-	/**
-	 * Gets the reader content as a String
-	 *
-	 * @param reader the reader
-	 * @return the reader content as string
-	 */
-	private static String getString(Reader reader) {
-		try {
-			return CharStreams.toString(reader);
-		} catch (IOException ignored) {
-			//meh
-		}
-		return null;
+		return JavadocCache.getInstance().getHTMLContent(member, true, true);
 	}
 }
@@ -43,6 +43,14 @@ public class JavaClientConnection {
 		 */
 		@JsonNotification("language/actionableNotification")
 		void sendActionableNotification(ActionableNotification notification);
+
+		/**
+		 * The partial result notification is sent from a server to a client to
+		 * stream the results of a long running request as they are found, before
+		 * the request is answered. The response repeats all the streamed results.
+		 */
+		@JsonNotification("language/partialResult")
+		void sendPartialResult(PartialResultNotification notification);
 	}
 
 	private final LogHandler logHandler;
@@ -121,6 +129,13 @@ public class JavaClientConnection {
 		client.sendActionableNotification(notification);
 	}
 
+	/**
+	 * Sends results of a request being processed to the client
+	 */
+	public void sendPartialResult(PartialResultNotification notification) {
+		client.sendPartialResult(notification);
+	}
+
 	public void publishDiagnostics(PublishDiagnosticsParams diagnostics){
 		client.publishDiagnostics(diagnostics);
 	}
@@ -11,13 +11,17 @@
 package org.eclipse.jdt.ls.core.internal;
 
 import java.io.IOException;
+import java.util.concurrent.Executors;
 
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jdt.core.WorkingCopyOwner;
 import org.eclipse.jdt.ls.core.internal.JavaClientConnection.JavaLanguageClient;
 import org.eclipse.jdt.ls.core.internal.handlers.JDTLanguageServer;
+import org.eclipse.jdt.ls.core.internal.handlers.ReferencesCache;
+import org.eclipse.jdt.ls.core.internal.javadoc.JavadocIndex;
 import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.lsp4j.jsonrpc.Launcher;
@@ -62,7 +66,8 @@ public class JavaLanguageServerPlugin implements BundleActivator {
 		protocol = new JDTLanguageServer(projectsManager, preferenceManager);
 		Launcher<JavaLanguageClient> launcher = Launcher.createLauncher(protocol, JavaLanguageClient.class,
 				ConnectionStreamFactory.getInputStream(),
-				ConnectionStreamFactory.getOutputStream());
+				ConnectionStreamFactory.getOutputStream(),
+				Executors.newCachedThreadPool(), RequestTracker::wrap);
 		protocol.connectClient(launcher.getRemoteProxy());
 		launcher.startListening();
 
@@ -74,6 +79,9 @@ public class JavaLanguageServerPlugin implements BundleActivator {
 	 */
 	@Override
 	public void stop(BundleContext bundleContext) throws Exception {
+		JavadocIndex.getInstance().dispose();
+		WorkspaceSymbolIndex.getInstance().dispose();
+		ReferencesCache.getInstance().dispose();
 		JavaLanguageServerPlugin.pluginInstance = null;
 		JavaLanguageServerPlugin.context = null;
 		projectsManager = null;
@@ -126,6 +134,13 @@ public class JavaLanguageServerPlugin implements BundleActivator {
 		return pluginInstance.projectsManager;
 	}
 
+	/**
+	 * @return the location of the plug-in state area, in the workspace metadata
+	 */
+	public static IPath getStateLocation() {
+		return Platform.getStateLocation(context.getBundle());
+	}
+
 	/**
 	 * @return the Java Language Server version
 	 */
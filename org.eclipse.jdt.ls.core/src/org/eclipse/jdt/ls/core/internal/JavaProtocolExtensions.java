@@ -10,8 +10,10 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
+import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
 import org.eclipse.lsp4j.jsonrpc.services.JsonNotification;
 import org.eclipse.lsp4j.jsonrpc.services.JsonRequest;
@@ -29,6 +31,15 @@ public interface JavaProtocolExtensions {
 	@JsonRequest
 	CompletableFuture<String> classFileContents(TextDocumentIdentifier documentUri);
 
+	/**
+	 * Request the references counted by a code lens, when the client advertises
+	 * the <code>codeLensReferences</code> extended client capability
+	 * @param params the document and position of the code lens, and the handle of the referenced element
+	 * @return the locations of the references
+	 */
+	@JsonRequest
+	CompletableFuture<List<? extends Location>> codeLensReferences(CodeLensReferencesParams params);
+
 	/**
 	 * Request a project configuration update
 	 * @param documentUri the document from which the project configuration will be updated
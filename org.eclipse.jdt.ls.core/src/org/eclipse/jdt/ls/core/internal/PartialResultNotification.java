@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import java.util.List;
+
+import org.eclipse.lsp4j.jsonrpc.json.MessageJsonHandler;
+
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Results of a request, sent before the request is answered. The response
+ * still holds all the results, including the ones already sent, so clients
+ * ignoring these notifications get complete results.
+ */
+public class PartialResultNotification {
+
+	/**
+	 * The id of the request the results belong to
+	 *
+	 */
+	@SerializedName("id")
+	@Expose
+	private String id;
+
+	/**
+	 * The method of the request the results belong to
+	 *
+	 */
+	@SerializedName("method")
+	@Expose
+	private String method;
+
+	/**
+	 * The parameters of the request the results belong to
+	 *
+	 */
+	@SerializedName("params")
+	@Expose
+	private Object params;
+
+	/**
+	 * The results found since the previous notification
+	 *
+	 */
+	@SerializedName("items")
+	@Expose
+	private List<?> items;
+
+	/**
+	 * The id of the request the results belong to
+	 *
+	 * @return
+	 *     The id
+	 */
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * The id of the request the results belong to
+	 *
+	 * @param id
+	 *     The id
+	 */
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public PartialResultNotification withId(String id) {
+		this.id = id;
+		return this;
+	}
+
+	/**
+	 * The method of the request the results belong to
+	 *
+	 * @return
+	 *     The method
+	 */
+	public String getMethod() {
+		return method;
+	}
+
+	/**
+	 * The method of the request the results belong to
+	 *
+	 * @param method
+	 *     The method
+	 */
+	public void setMethod(String method) {
+		this.method = method;
+	}
+
+	public PartialResultNotification withMethod(String method) {
+		this.method = method;
+		return this;
+	}
+
+	/**
+	 * @return the parameters of the request
+	 */
+	public Object getParams() {
+		return params;
+	}
+
+	/**
+	 * @param params the parameters of the request
+	 */
+	public void setParams(Object params) {
+		this.params = params;
+	}
+
+	public PartialResultNotification withParams(Object params) {
+		this.params = params;
+		return this;
+	}
+
+	/**
+	 * @return the results
+	 */
+	public List<?> getItems() {
+		return items;
+	}
+
+	/**
+	 * @param items the results
+	 */
+	public void setItems(List<?> items) {
+		this.items = items;
+	}
+
+	public PartialResultNotification withItems(List<?> items) {
+		this.items = items;
+		return this;
+	}
+
+	@Override
+	public String toString() {
+		return MessageJsonHandler.toString(this);
+	}
+}
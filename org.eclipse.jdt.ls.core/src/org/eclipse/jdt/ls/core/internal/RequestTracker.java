@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.messages.RequestMessage;
+
+/**
+ * Keeps track of the id of the request being dispatched, so the results
+ * streamed while it is processed can be attributed to it.
+ *
+ * Requests are dispatched to the language server on the thread reading the
+ * messages, but are processed asynchronously: the id must be read when the
+ * request is received, e.g. in the constructor of its handler.
+ *
+ * The outgoing messages are wrapped as well, and can be sent while a request
+ * is dispatched, e.g. log messages: the id of the dispatched request is
+ * restored once they are sent.
+ */
+public class RequestTracker {
+
+	private static final ThreadLocal<String> currentRequestId = new ThreadLocal<>();
+
+	private RequestTracker() {
+		// No instanciation
+	}
+
+	/**
+	 * @return a consumer recording the id of the requests dispatched to the
+	 *         given consumer
+	 */
+	public static MessageConsumer wrap(MessageConsumer consumer) {
+		return message -> {
+			String previousId = currentRequestId.get();
+			currentRequestId.set(message instanceof RequestMessage ? ((RequestMessage) message).getId() : null);
+			try {
+				consumer.consume(message);
+			} finally {
+				if (previousId == null) {
+					currentRequestId.remove();
+				} else {
+					currentRequestId.set(previousId);
+				}
+			}
+		};
+	}
+
+	/**
+	 * @return the id of the request being dispatched by the current thread, or
+	 *         <code>null</code> if none
+	 */
+	public static String getCurrentRequestId() {
+		return currentRequestId.get();
+	}
+}
@@ -0,0 +1,463 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.ls.core.internal.handlers.DocumentSymbolHandler;
+import org.eclipse.jdt.ls.core.internal.handlers.JsonRpcHelpers;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.SymbolKind;
+
+/**
+ * In-memory index of the types, methods and fields declared in the source
+ * folders of the workspace, used to answer workspace symbol queries without
+ * going through the search engine.
+ *
+ * The index is built by a background job the first time it is
+ * {@link #initialize() initialized}, then kept up to date from the Java
+ * element deltas, including the reconciles of the compilation units being
+ * edited. Symbol ranges are computed when indexing, from the same content as
+ * the symbols. Queries match symbol names by prefix, camel case or
+ * subsequence, and return the best ranked symbols first.
+ */
+public class WorkspaceSymbolIndex {
+
+	private static final int EXACT_MATCH = 0;
+	private static final int PREFIX_MATCH = 1;
+	private static final int CASE_INSENSITIVE_PREFIX_MATCH = 2;
+	private static final int CAMEL_CASE_MATCH = 3;
+	private static final int SUBSEQUENCE_MATCH = 4;
+	private static final int NO_MATCH = -1;
+
+	private static WorkspaceSymbolIndex instance = new WorkspaceSymbolIndex();
+
+	/**
+	 * Symbols, by declaring compilation unit
+	 */
+	private final Map<ICompilationUnit, List<Symbol>> symbols = new ConcurrentHashMap<>();
+
+	/**
+	 * Elements to re-index, coming from deltas
+	 */
+	private final Set<IJavaElement> pendingElements = new LinkedHashSet<>();
+
+	private volatile boolean ready;
+
+	/**
+	 * Incremented each time elements are queued for re-indexing, so the
+	 * changes made while the index is built are not lost
+	 */
+	private volatile long generation;
+
+	private boolean initialized;
+
+	private final IElementChangedListener listener = this::elementChanged;
+
+	private final Job buildJob = new Job("Build workspace symbol index") {
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				build(monitor);
+			} catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
+			}
+			return Status.OK_STATUS;
+		}
+	};
+
+	private final Job updateJob = new Job("Update workspace symbol index") {
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			update(monitor);
+			return Status.OK_STATUS;
+		}
+	};
+
+	private WorkspaceSymbolIndex() {
+		buildJob.setSystem(true);
+		updateJob.setSystem(true);
+	}
+
+	public static WorkspaceSymbolIndex getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Starts listening to Java element changes and schedules the initial
+	 * build of the index, if not done yet.
+	 */
+	public synchronized void initialize() {
+		if (initialized) {
+			return;
+		}
+		initialized = true;
+		JavaCore.addElementChangedListener(listener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		buildJob.schedule();
+	}
+
+	public synchronized void dispose() {
+		if (!initialized) {
+			return;
+		}
+		JavaCore.removeElementChangedListener(listener);
+		buildJob.cancel();
+		updateJob.cancel();
+		symbols.clear();
+		ready = false;
+		initialized = false;
+	}
+
+	/**
+	 * @return whether the initial build of the index is done
+	 */
+	public boolean isReady() {
+		return ready;
+	}
+
+	/**
+	 * Builds the index of all the Java projects of the workspace.
+	 */
+	public void build(IProgressMonitor monitor) {
+		long buildGeneration = generation;
+		IJavaProject[] projects;
+		try {
+			projects = JavaCore.create(ResourcesPlugin.getWorkspace().getRoot()).getJavaProjects();
+		} catch (JavaModelException e) {
+			JavaLanguageServerPlugin.logException("Problem building the workspace symbol index", e);
+			return;
+		}
+		for (IJavaProject project : projects) {
+			try {
+				index(project, monitor);
+			} catch (JavaModelException e) {
+				JavaLanguageServerPlugin.logException("Problem indexing " + project.getElementName(), e);
+			}
+		}
+		ready = true;
+		if (generation != buildGeneration) {
+			// elements changed during the build, their updates were deferred
+			updateJob.schedule();
+		}
+	}
+
+	/**
+	 * Searches the symbols whose names match the given query.
+	 *
+	 * @param query
+	 *            the query, matching names by prefix, camel case or subsequence
+	 * @param maxResults
+	 *            the maximum number of symbols to return
+	 * @param monitor
+	 *            a progress monitor, might be <code>null</code>
+	 * @return the best matching symbols, by decreasing relevance
+	 */
+	public List<SymbolInformation> search(String query, int maxResults, IProgressMonitor monitor) {
+		if (maxResults <= 0) {
+			return Collections.emptyList();
+		}
+		char[] pattern = query.toCharArray();
+		// worst match first, to evict it when more relevant ones are found
+		PriorityQueue<RankedSymbol> best = new PriorityQueue<>(Collections.reverseOrder(RankedSymbol.RELEVANCE));
+		for (List<Symbol> unitSymbols : symbols.values()) {
+			checkCanceled(monitor);
+			for (Symbol symbol : unitSymbols) {
+				int rank = match(query, pattern, symbol.name);
+				if (rank == NO_MATCH) {
+					continue;
+				}
+				RankedSymbol ranked = new RankedSymbol(symbol, rank);
+				if (best.size() < maxResults) {
+					best.add(ranked);
+				} else if (RankedSymbol.RELEVANCE.compare(ranked, best.peek()) < 0) {
+					best.poll();
+					best.add(ranked);
+				}
+			}
+		}
+		List<RankedSymbol> ranked = new ArrayList<>(best);
+		Collections.sort(ranked, RankedSymbol.RELEVANCE);
+		List<SymbolInformation> result = new ArrayList<>(ranked.size());
+		for (RankedSymbol rankedSymbol : ranked) {
+			result.add(rankedSymbol.symbol.toSymbolInformation());
+		}
+		return result;
+	}
+
+	private static int match(String query, char[] pattern, String name) {
+		if (query.isEmpty()) {
+			return PREFIX_MATCH;
+		}
+		if (name.equals(query)) {
+			return EXACT_MATCH;
+		}
+		if (name.startsWith(query)) {
+			return PREFIX_MATCH;
+		}
+		if (name.regionMatches(true, 0, query, 0, query.length())) {
+			return CASE_INSENSITIVE_PREFIX_MATCH;
+		}
+		if (SearchPattern.camelCaseMatch(pattern, name.toCharArray())) {
+			return CAMEL_CASE_MATCH;
+		}
+		int index = 0;
+		for (int i = 0; i < name.length() && index < pattern.length; i++) {
+			if (Character.toLowerCase(name.charAt(i)) == Character.toLowerCase(pattern[index])) {
+				index++;
+			}
+		}
+		return index == pattern.length ? SUBSEQUENCE_MATCH : NO_MATCH;
+	}
+
+	private void elementChanged(ElementChangedEvent event) {
+		synchronized (pendingElements) {
+			collectChangedElements(event.getDelta());
+			if (pendingElements.isEmpty()) {
+				return;
+			}
+			generation++;
+		}
+		if (ready) {
+			updateJob.schedule();
+		}
+	}
+
+	private void collectChangedElements(IJavaElementDelta delta) {
+		IJavaElement element = delta.getElement();
+		switch (delta.getKind()) {
+		case IJavaElementDelta.ADDED:
+		case IJavaElementDelta.REMOVED:
+			pendingElements.add(element);
+			return;
+		case IJavaElementDelta.CHANGED:
+			int flags = delta.getFlags();
+			if (element.getElementType() == IJavaElement.COMPILATION_UNIT) {
+				// reconciles only report the members changes, discarded working copies revert to the file content
+				if ((flags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_PRIMARY_RESOURCE | IJavaElementDelta.F_PRIMARY_WORKING_COPY)) != 0) {
+					pendingElements.add(element);
+				}
+				return;
+			}
+			if ((flags & (IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED)) != 0) {
+				pendingElements.add(element);
+				return;
+			}
+			for (IJavaElementDelta child : delta.getAffectedChildren()) {
+				collectChangedElements(child);
+			}
+			return;
+		default:
+			return;
+		}
+	}
+
+	private void update(IProgressMonitor monitor) {
+		if (!ready) {
+			// the build might not have seen the changes, or might overwrite the updates
+			return;
+		}
+		List<IJavaElement> elements;
+		synchronized (pendingElements) {
+			elements = new ArrayList<>(pendingElements);
+			pendingElements.clear();
+		}
+		for (IJavaElement element : elements) {
+			remove(element);
+			if (element.exists()) {
+				try {
+					index(element, monitor);
+				} catch (JavaModelException e) {
+					JavaLanguageServerPlugin.logException("Problem indexing " + element.getElementName(), e);
+				}
+			}
+		}
+	}
+
+	private void remove(IJavaElement element) {
+		if (element.getElementType() == IJavaElement.COMPILATION_UNIT) {
+			symbols.remove(((ICompilationUnit) element).getPrimary());
+			return;
+		}
+		symbols.keySet().removeIf(unit -> element.equals(unit.getAncestor(element.getElementType())));
+	}
+
+	private void index(IJavaElement element, IProgressMonitor monitor) throws JavaModelException {
+		checkCanceled(monitor);
+		switch (element.getElementType()) {
+		case IJavaElement.JAVA_PROJECT:
+			IJavaProject project = (IJavaProject) element;
+			for (IPackageFragmentRoot root : project.getPackageFragmentRoots()) {
+				if (project.equals(root.getJavaProject())) {
+					index(root, monitor);
+				}
+			}
+			break;
+		case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			IPackageFragmentRoot root = (IPackageFragmentRoot) element;
+			if (root.getKind() == IPackageFragmentRoot.K_SOURCE) {
+				for (IJavaElement fragment : root.getChildren()) {
+					index(fragment, monitor);
+				}
+			}
+			break;
+		case IJavaElement.PACKAGE_FRAGMENT:
+			IPackageFragment fragment = (IPackageFragment) element;
+			if (fragment.getKind() == IPackageFragmentRoot.K_SOURCE) {
+				for (ICompilationUnit unit : fragment.getCompilationUnits()) {
+					index(unit, monitor);
+				}
+			}
+			break;
+		case IJavaElement.COMPILATION_UNIT:
+			ICompilationUnit unit = ((ICompilationUnit) element).getPrimary();
+			List<Symbol> unitSymbols = new ArrayList<>();
+			IDocument document = JsonRpcHelpers.toDocument(unit.getBuffer());
+			for (IType type : unit.getAllTypes()) {
+				String containerName = type.getDeclaringType() == null ? type.getPackageFragment().getElementName() : type.getDeclaringType().getFullyQualifiedName('.');
+				addSymbol(unitSymbols, unit, document, type, containerName);
+				String typeName = type.getFullyQualifiedName('.');
+				for (IMethod method : type.getMethods()) {
+					addSymbol(unitSymbols, unit, document, method, typeName);
+				}
+				for (IField field : type.getFields()) {
+					addSymbol(unitSymbols, unit, document, field, typeName);
+				}
+			}
+			symbols.put(unit, unitSymbols);
+			break;
+		default:
+			break;
+		}
+	}
+
+	private static void addSymbol(List<Symbol> unitSymbols, ICompilationUnit unit, IDocument document, IMember member, String containerName) throws JavaModelException {
+		if (JDTUtils.isHiddenGeneratedElement(member)) {
+			return;
+		}
+		ISourceRange nameRange = member.getNameRange();
+		if (nameRange == null || nameRange.getOffset() < 0) {
+			return;
+		}
+		Range range;
+		try {
+			range = toRange(document, nameRange.getOffset(), nameRange.getLength());
+		} catch (BadLocationException e) {
+			// the content changed since the unit was reconciled, it will be indexed again
+			return;
+		}
+		unitSymbols.add(new Symbol(member.getElementName(), DocumentSymbolHandler.mapKind(member), containerName, unit, range));
+	}
+
+	private static Range toRange(IDocument document, int offset, int length) throws BadLocationException {
+		int startLine = document.getLineOfOffset(offset);
+		int endLine = document.getLineOfOffset(offset + length);
+		Position start = new Position(startLine, offset - document.getLineOffset(startLine));
+		Position end = new Position(endLine, offset + length - document.getLineOffset(endLine));
+		Range range = new Range();
+		range.setStart(start);
+		range.setEnd(end);
+		return range;
+	}
+
+	private static void checkCanceled(IProgressMonitor monitor) {
+		if (monitor != null && monitor.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+	}
+
+	private static class Symbol {
+		private final String name;
+		private final SymbolKind kind;
+		private final String containerName;
+		private final ICompilationUnit unit;
+		private final Range range;
+
+		Symbol(String name, SymbolKind kind, String containerName, ICompilationUnit unit, Range range) {
+			this.name = name;
+			this.kind = kind;
+			this.containerName = containerName;
+			this.unit = unit;
+			this.range = range;
+		}
+
+		boolean isType() {
+			return kind == SymbolKind.Class || kind == SymbolKind.Interface;
+		}
+
+		SymbolInformation toSymbolInformation() {
+			SymbolInformation symbolInformation = new SymbolInformation();
+			symbolInformation.setName(name);
+			symbolInformation.setKind(kind);
+			symbolInformation.setContainerName(containerName);
+			Location location = new Location();
+			location.setUri(JDTUtils.getFileURI(unit));
+			location.setRange(range);
+			symbolInformation.setLocation(location);
+			return symbolInformation;
+		}
+	}
+
+	private static class RankedSymbol {
+
+		/**
+		 * Most relevant first: best match, types before members, shortest
+		 * names first
+		 */
+		static final Comparator<RankedSymbol> RELEVANCE = Comparator.<RankedSymbol> comparingInt(s -> s.rank)
+				.thenComparing(s -> !s.symbol.isType())
+				.thenComparingInt(s -> s.symbol.name.length())
+				.thenComparing(s -> s.symbol.name)
+				.thenComparing(s -> s.symbol.containerName);
+
+		private final Symbol symbol;
+		private final int rank;
+
+		RankedSymbol(Symbol symbol, int rank) {
+			this.symbol = symbol;
+			this.rank = rank;
+		}
+	}
+}
@@ -12,15 +12,12 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.contentassist;
 
-import java.util.Map;
-
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.jdt.core.CompletionContext;
 import org.eclipse.jdt.core.CompletionProposal;
 import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.Signature;
 import org.eclipse.jdt.internal.corext.template.java.SignatureUtil;
-import org.eclipse.jdt.ls.core.internal.handlers.CompletionResolveHandler;
 import org.eclipse.lsp4j.CompletionItem;
 
 /**
@@ -42,13 +39,30 @@ public class CompletionProposalDescriptionProvider {
 	 */
 	private CompletionContext fContext;
 
+	/**
+	 * Whether details are left out, to be computed on resolve.
+	 */
+	private final boolean fDeferDetails;
+
 	/**
 	 * Creates a new label provider.
 	 * @param iCompilationUnit
 	 */
 	public CompletionProposalDescriptionProvider(CompletionContext context) {
+		this(context, false);
+	}
+
+	/**
+	 * Creates a new label provider.
+	 *
+	 * @param context the completion context
+	 * @param deferDetails if <code>true</code>, only labels are set, as
+	 *            clients don't update them on resolve, and no detail is set
+	 */
+	public CompletionProposalDescriptionProvider(CompletionContext context, boolean deferDetails) {
 		super();
 		fContext = context;
+		fDeferDetails = deferDetails;
 	}
 
 	/**
@@ -266,6 +280,9 @@ public class CompletionProposalDescriptionProvider {
 		}
 
 		item.setLabel(description.toString());
+		if (fDeferDetails) {
+			return;
+		}
 		// declaring type
 		StringBuilder typeInfo = new StringBuilder();
 		String declaringType= extractDeclaringTypeFQN(methodProposal);
@@ -281,11 +298,6 @@ public class CompletionProposalDescriptionProvider {
 		declaringType= Signature.getSimpleName(declaringType);
 		typeInfo.append(declaringType);
 		item.setDetail(typeInfo.toString());
-
-		setSignature(item, String.valueOf(methodProposal.getSignature()));
-		setDeclarationSignature(item, String.valueOf(methodProposal.getDeclarationSignature()));
-		setName(item, String.valueOf(methodProposal.getName()));
-
 	}
 
 	/**
@@ -301,6 +313,9 @@ public class CompletionProposalDescriptionProvider {
 	private void createJavadocMethodProposalLabel(CompletionProposal methodProposal, CompletionItem item) {
 		// method name
 		item.setLabel(String.valueOf(methodProposal.getCompletion()));
+		if (fDeferDetails) {
+			return;
+		}
 		// declaring type
 		String declaringType= extractDeclaringTypeFQN(methodProposal);
 		declaringType= Signature.getSimpleName(declaringType);
@@ -324,6 +339,9 @@ public class CompletionProposalDescriptionProvider {
 		char[] returnType= createTypeDisplayName(SignatureUtil.getUpperBound(Signature.getReturnType(SignatureUtil.fix83600(methodProposal.getSignature()))));
 		nameBuffer.append(returnType);
 		item.setLabel(nameBuffer.toString());
+		if (fDeferDetails) {
+			return;
+		}
 
 		// declaring type
 		StringBuilder typeBuffer = new StringBuilder();
@@ -331,10 +349,6 @@ public class CompletionProposalDescriptionProvider {
 		declaringType= Signature.getSimpleName(declaringType);
 		typeBuffer.append(String.format("Override method in '%s'", declaringType));
 		item.setDetail(typeBuffer.toString());
-
-		setSignature(item, String.valueOf(methodProposal.getSignature()));
-		setDeclarationSignature(item, String.valueOf(methodProposal.getDeclarationSignature()));
-		setName(item, String.valueOf(methodProposal.getName()));
 	}
 
 	/**
@@ -377,7 +391,6 @@ public class CompletionProposalDescriptionProvider {
 			signature= typeProposal.getSignature();
 		char[] fullName= Signature.toCharArray(signature);
 		createTypeProposalLabel(fullName, item);
-		setDeclarationSignature(item, String.valueOf(signature));
 	}
 
 	private void createJavadocTypeProposalLabel(CompletionProposal typeProposal, CompletionItem item) {
@@ -413,6 +426,9 @@ public class CompletionProposalDescriptionProvider {
 		nameBuffer.append(new String(fullName, qIndex, fullName.length - qIndex));
 		nameBuffer.append('}');
 		item.setLabel(nameBuffer.toString());
+		if (fDeferDetails) {
+			return;
+		}
 
 		if (qIndex > 0) {
 			item.setDetail(new String(fullName, 0, qIndex - 1));
@@ -468,10 +484,12 @@ public class CompletionProposalDescriptionProvider {
 			buf.append(typeName);
 		}
 		item.setLabel(buf.toString());
+		if (fDeferDetails) {
+			return;
+		}
 
 		char[] declaration= proposal.getDeclarationSignature();
 		if (declaration != null) {
-			setDeclarationSignature(item, String.valueOf(declaration));
 			StringBuilder declBuf = new StringBuilder();
 			declaration= Signature.getSignatureSimpleName(declaration);
 			if (declaration.length > 0) {
@@ -487,7 +505,6 @@ public class CompletionProposalDescriptionProvider {
 				item.setDetail(declBuf.toString());
 			}
 		}
-		setName(item,String.valueOf(name));
 	}
 
 	private void createPackageProposalLabel(CompletionProposal proposal, CompletionItem item) {
@@ -514,6 +531,9 @@ public class CompletionProposalDescriptionProvider {
 		buf.append("  "); //$NON-NLS-1$
 		buf.append("Anonymous Inner Type"); //TODO: consider externalization
 		item.setLabel(buf.toString());
+		if (fDeferDetails) {
+			return;
+		}
 
 		if (proposal.getRequiredProposals() != null) {
 			char[] signatureQualifier= Signature.getSignatureQualifier(declaringTypeSignature);
@@ -521,36 +541,6 @@ public class CompletionProposalDescriptionProvider {
 				item.setDetail(String.valueOf(signatureQualifier));
 			}
 		}
-		setDeclarationSignature(item, String.valueOf(declaringTypeSignature));
-	}
-
-	/**
-	 * Sets the signature for use on the resolve call.
-	 * @param item
-	 * @param signature
-	 */
-	@SuppressWarnings("unchecked")
-	private void setSignature(CompletionItem item, String signature){
-		((Map<String, String>)item.getData()).put(CompletionResolveHandler.DATA_FIELD_SIGNATURE,String.valueOf(signature));
-	}
-	/**
-	 * Sets the declaration signature to data that is used on the resolve call.
-	 * @param item
-	 * @param signature
-	 */
-	@SuppressWarnings("unchecked")
-	private void setDeclarationSignature(CompletionItem item, String signature){
-		((Map<String, String>)item.getData()).put(CompletionResolveHandler.DATA_FIELD_DECLARATION_SIGNATURE,String.valueOf(signature));
-	}
-
-	/**
-	 * Sets the name to data that is used on the resolve call.
-	 * @param item
-	 * @param name
-	 */
-	@SuppressWarnings("unchecked")
-	private void setName(CompletionItem item, String name){
-		((Map<String, String>)item.getData()).put(CompletionResolveHandler.DATA_FIELD_NAME,String.valueOf(name));
 	}
 
 	/**
@@ -11,14 +11,26 @@
 package org.eclipse.jdt.ls.core.internal.contentassist;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.CompletionContext;
 import org.eclipse.jdt.core.CompletionProposal;
 import org.eclipse.jdt.core.CompletionRequestor;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.handlers.CompletionResolveHandler;
 import org.eclipse.jdt.ls.core.internal.handlers.CompletionResponse;
 import org.eclipse.jdt.ls.core.internal.handlers.CompletionResponses;
@@ -27,15 +39,31 @@ import org.eclipse.lsp4j.CompletionItemKind;
 
 public final class CompletionProposalRequestor extends CompletionRequestor {
 
+	/**
+	 * Default number of proposals from which items are converted in parallel,
+	 * when enabled.
+	 */
+	public static final int PARALLEL_CONVERSION_THRESHOLD = 500;
+	private static final int CONVERSION_PARALLELISM = Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors()));
+	private static final int MIN_CHUNK_SIZE = 64;
+	/**
+	 * Milliseconds between two cancellation checks while waiting for a
+	 * parallel conversion.
+	 */
+	private static final long CANCEL_CHECK_INTERVAL = 20;
+	private static ExecutorService conversionExecutor;
+
 	private List<CompletionProposal> proposals = new ArrayList<>();
-	private final ICompilationUnit unit;
 	private CompletionProposalDescriptionProvider descriptionProvider;
 	private CompletionResponse response;
+	private final String requestId;
+	private int parallelConversionThreshold;
 
 	public CompletionProposalRequestor(ICompilationUnit aUnit, int offset) {
-		this.unit = aUnit;
 		response = new CompletionResponse();
 		response.setOffset(offset);
+		response.setUri(JDTUtils.getFileURI(aUnit));
+		requestId = String.valueOf(response.getId());
 		setRequireExtendedContext(true);
 	}
 
@@ -46,9 +74,43 @@ public final class CompletionProposalRequestor extends CompletionRequestor {
 		}
 	}
 
+	/**
+	 * Sets the number of proposals from which completion items are converted
+	 * in parallel. A value &lt;= 0 disables parallel conversion.
+	 *
+	 * @param threshold the minimum number of proposals to convert in parallel
+	 */
+	public void setParallelConversionThreshold(int threshold) {
+		this.parallelConversionThreshold = threshold;
+	}
+
+	/**
+	 * Sets whether the items only get a label, kind and sort text, while
+	 * details are computed on resolve. Labels are final, clients don't update
+	 * them on resolve.
+	 *
+	 * @param deferDetails whether to defer the item details to resolve
+	 */
+	public void setDeferDetails(boolean deferDetails) {
+		response.setDetailsDeferred(deferDetails);
+	}
+
 	public List<CompletionItem> getCompletionItems() {
+		return getCompletionItems(new NullProgressMonitor());
+	}
+
+	/**
+	 * @param monitor
+	 *            checked for cancellation while waiting for a parallel
+	 *            conversion
+	 * @return the completion items of the accepted proposals
+	 */
+	public List<CompletionItem> getCompletionItems(IProgressMonitor monitor) {
 		response.setProposals(proposals);
 		CompletionResponses.store(response);
+		if (parallelConversionThreshold > 0 && proposals.size() >= parallelConversionThreshold) {
+			return toCompletionItemsInParallel(monitor);
+		}
 		List<CompletionItem> completionItems = new ArrayList<>(proposals.size());
 		for (int i = 0; i < proposals.size(); i++) {
 			completionItems.add(toCompletionItem(proposals.get(i), i));
@@ -56,14 +118,82 @@ public final class CompletionProposalRequestor extends CompletionRequestor {
 		return completionItems;
 	}
 
+	/**
+	 * Converts the proposals in chunks on a bounded pool. Each chunk fills its
+	 * own slots of the result, so the original proposal order is preserved.
+	 */
+	private List<CompletionItem> toCompletionItemsInParallel(IProgressMonitor monitor) {
+		int size = proposals.size();
+		// parameter names are lazily looked up through the (non thread-safe)
+		// name environment of the completion engine, so resolve them up front.
+		for (CompletionProposal proposal : proposals) {
+			proposal.findParameterNames(null);
+		}
+		CompletionItem[] items = new CompletionItem[size];
+		AtomicBoolean cancelled = new AtomicBoolean();
+		int chunkSize = Math.max(MIN_CHUNK_SIZE, (size + CONVERSION_PARALLELISM - 1) / CONVERSION_PARALLELISM);
+		List<CompletableFuture<Void>> chunks = new ArrayList<>();
+		for (int start = 0; start < size; start += chunkSize) {
+			final int from = start;
+			final int to = Math.min(size, start + chunkSize);
+			chunks.add(CompletableFuture.runAsync(() -> {
+				for (int i = from; i < to && !cancelled.get(); i++) {
+					items[i] = toCompletionItem(proposals.get(i), i);
+				}
+			}, getConversionExecutor()));
+		}
+		CompletableFuture<Void> conversion = CompletableFuture.allOf(chunks.toArray(new CompletableFuture[chunks.size()]));
+		try {
+			waitForConversion(conversion, monitor);
+		} finally {
+			if (!conversion.isDone()) {
+				// stop the remaining chunks
+				cancelled.set(true);
+			}
+		}
+		return new ArrayList<>(Arrays.asList(items));
+	}
+
+	private static void waitForConversion(CompletableFuture<Void> conversion, IProgressMonitor monitor) {
+		while (true) {
+			try {
+				conversion.get(CANCEL_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+				return;
+			} catch (TimeoutException e) {
+				if (monitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+	}
+
+	private static synchronized ExecutorService getConversionExecutor() {
+		if (conversionExecutor == null) {
+			conversionExecutor = Executors.newFixedThreadPool(CONVERSION_PARALLELISM, runnable -> {
+				Thread thread = new Thread(runnable, "Completion item conversion");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return conversionExecutor;
+	}
+
 	public CompletionItem toCompletionItem(CompletionProposal proposal, int index) {
 		final CompletionItem $ = new CompletionItem();
 		$.setKind(mapKind(proposal.getKind()));
-		Map<String, String> data = new HashMap<>();
 		// append data field so that resolve request can use it.
-		data.put(CompletionResolveHandler.DATA_FIELD_URI,unit.getResource().getLocationURI().toString());
-		data.put(CompletionResolveHandler.DATA_FIELD_REQUEST_ID,String.valueOf(response.getId()));
-		data.put(CompletionResolveHandler.DATA_FIELD_PROPOSAL_ID,String.valueOf(index));
+		// The file URI and the proposal details are kept server-side, in the CompletionResponse.
+		Map<String, String> data = new HashMap<>(4);
+		data.put(CompletionResolveHandler.DATA_FIELD_REQUEST_ID, requestId);
+		data.put(CompletionResolveHandler.DATA_FIELD_PROPOSAL_ID, String.valueOf(index));
 		$.setData(data);
 		this.descriptionProvider.updateDescription(proposal, $);
 		$.setSortText(SortTextHelper.computeSortText(proposal));
@@ -74,7 +204,7 @@ public final class CompletionProposalRequestor extends CompletionRequestor {
 	public void acceptContext(CompletionContext context) {
 		super.acceptContext(context);
 		response.setContext(context);
-		this.descriptionProvider = new CompletionProposalDescriptionProvider(context);
+		this.descriptionProvider = new CompletionProposalDescriptionProvider(context, response.isDetailsDeferred());
 	}
 
 
@@ -19,6 +19,14 @@ import org.eclipse.jdt.core.CompletionProposal;
  */
 public final class SortTextHelper {
 	private static final char[] REVERSE_CHAR_MAP = {'j','i','h','g','f','e','d','c','b','a'};
+	private static final int SORT_TEXT_LENGTH = 10;
+
+	/**
+	 * Sort texts for the most common relevances, lazily populated.
+	 * Proposal relevances are small (scaled by 16 in {@link #computeSortText(CompletionProposal)}),
+	 * so this covers virtually every proposal.
+	 */
+	private static final String[] CACHED_SORT_TEXTS = new String[4096];
 
 	private SortTextHelper(){
 		//No public instantiation
@@ -33,18 +41,32 @@ public final class SortTextHelper {
 	 * @return
 	 */
 	public static String convertRelevance(int relevance) {
-		StringBuilder sb = new StringBuilder();
 		if (relevance < 1) {
-			sb.append("z");
+			relevance = 0;
 		}
+		if (relevance < CACHED_SORT_TEXTS.length) {
+			String sortText = CACHED_SORT_TEXTS[relevance];
+			if (sortText == null) {
+				// benign race: concurrent callers compute the same immutable value
+				sortText = encode(relevance);
+				CACHED_SORT_TEXTS[relevance] = sortText;
+			}
+			return sortText;
+		}
+		return encode(relevance);
+	}
+
+	private static String encode(int relevance) {
+		char[] chars = new char[SORT_TEXT_LENGTH];
+		int pos = SORT_TEXT_LENGTH;
 		while (relevance > 0) {
-			sb.insert(0,REVERSE_CHAR_MAP[relevance % 10]);
+			chars[--pos] = REVERSE_CHAR_MAP[relevance % 10];
 			relevance = relevance / 10;
 		}
-		while (sb.length() < 10) {
-			sb.insert(0, "z");
+		while (pos > 0) {
+			chars[--pos] = 'z';
 		}
-		return sb.toString();
+		return new String(chars);
 	}
 
 	/**
@@ -16,24 +16,17 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
-import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
-import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.ISourceRange;
 import org.eclipse.jdt.core.ISourceReference;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
-import org.eclipse.jdt.core.search.IJavaSearchConstants;
 import org.eclipse.jdt.core.search.IJavaSearchScope;
-import org.eclipse.jdt.core.search.SearchEngine;
-import org.eclipse.jdt.core.search.SearchMatch;
-import org.eclipse.jdt.core.search.SearchParticipant;
-import org.eclipse.jdt.core.search.SearchPattern;
-import org.eclipse.jdt.core.search.SearchRequestor;
+import org.eclipse.jdt.ls.core.internal.CodeLensReferencesParams;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
@@ -66,12 +59,18 @@ public class CodeLensHandler {
 				return lens;
 			}
 			Map<String, Object> position = (Map<String, Object>) data.get(1);
-			IJavaElement element = JDTUtils.findElementAtSelection(unit,  ((Double)position.get("line")).intValue(), ((Double)position.get("character")).intValue());
-			List<Location> locations = findReferences(element);
+			String handle = data.size() > 2 ? (String) data.get(2) : null;
+			IJavaElement element = resolveElement(unit, handle, ((Double)position.get("line")).intValue(), ((Double)position.get("character")).intValue());
+			List<Location> locations = findReferences(unit, element);
 			int nReferences = locations.size();
+			Object references = locations;
+			if (preferenceManager.isCodeLensReferencesSupported()) {
+				//the locations are requested with java/codeLensReferences when the command is executed
+				references = element == null ? null : element.getHandleIdentifier();
+			}
 			Command command = new Command(nReferences == 1 ? "1 reference" : nReferences + " references",
 					"java.show.references",
-					Arrays.asList(uri, position, locations));
+					Arrays.asList(uri, position, references));
 			lens.setCommand(command);
 		} catch (CoreException e) {
 			JavaLanguageServerPlugin.logException("Problem resolving code lens", e);
@@ -79,36 +78,57 @@ public class CodeLensHandler {
 		return lens;
 	}
 
-	private List<Location> findReferences(IJavaElement element) throws JavaModelException, CoreException {
-		if (element == null) {
+	/**
+	 * Returns the references counted by a code lens.
+	 *
+	 * @param params
+	 *            the document and position of the code lens, and the handle of
+	 *            the element it counts the references of
+	 * @return the reference locations
+	 */
+	public List<Location> getReferences(CodeLensReferencesParams params) {
+		ICompilationUnit unit = JDTUtils.resolveCompilationUnit(params.getTextDocument().getUri());
+		if (unit == null) {
 			return Collections.emptyList();
 		}
+		try {
+			IJavaElement element = resolveElement(unit, params.getHandle(), params.getPosition().getLine(), params.getPosition().getCharacter());
+			if (element == null) {
+				return Collections.emptyList();
+			}
+			ReferencesCache cache = ReferencesCache.getInstance();
+			cache.initialize();
+			return cache.getReferences(element, IJavaSearchScope.SOURCES, new NullProgressMonitor());
+		} catch (CoreException e) {
+			JavaLanguageServerPlugin.logException("Problem finding code lens references", e);
+		}
+		return Collections.emptyList();
+	}
 
-		SearchPattern pattern = SearchPattern.createPattern(element, IJavaSearchConstants.REFERENCES);
-		final List<Location> result = new ArrayList<>();
-		SearchEngine engine = new SearchEngine();
-		engine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() },
-				createSearchScope(), new SearchRequestor() {
-
-			@Override
-			public void acceptSearchMatch(SearchMatch match) throws CoreException {
-				Object o = match.getElement();
-				if (o instanceof IJavaElement) {
-					IJavaElement element = (IJavaElement) o;
-					ICompilationUnit compilationUnit = (ICompilationUnit) element
-							.getAncestor(IJavaElement.COMPILATION_UNIT);
-					if (compilationUnit == null) {
-						return;
-					}
-					Location location = JDTUtils.toLocation(compilationUnit, match.getOffset(), match.getLength());
-					result.add(location);
-
-				}
+	/**
+	 * @return the element with the given handle, or the element at the given
+	 *         position if it was renamed or removed since the lens was created
+	 */
+	private IJavaElement resolveElement(ICompilationUnit unit, String handle, int line, int character) throws JavaModelException {
+		IJavaElement element = handle == null ? null : JavaCore.create(handle);
+		if (element == null || !element.exists() || !unit.equals(element.getAncestor(IJavaElement.COMPILATION_UNIT))) {
+			element = JDTUtils.findElementAtSelection(unit, line, character);
+		}
+		return element;
+	}
 
-			}
-		}, new NullProgressMonitor());
+	private List<Location> findReferences(ICompilationUnit unit, IJavaElement element) throws JavaModelException, CoreException {
+		if (element == null) {
+			return Collections.emptyList();
+		}
 
-		return result;
+		ReferencesCache cache = ReferencesCache.getInstance();
+		cache.initialize();
+		// the other lenses of the document are about to be resolved too, unless they were prefetched with this one
+		if (cache.isPrefetchable(element, IJavaSearchScope.SOURCES)) {
+			cache.prefetch(getCodeLensElements(unit), IJavaSearchScope.SOURCES, new NullProgressMonitor());
+		}
+		return cache.getReferences(element, IJavaSearchScope.SOURCES, new NullProgressMonitor());
 	}
 
 	public List<CodeLens> getCodeLensSymbols(String uri) {
@@ -118,9 +138,17 @@ public class CodeLensHandler {
 		final ICompilationUnit unit = JDTUtils.resolveCompilationUnit(uri);
 		if(unit == null || !unit.getResource().exists()) return Collections.emptyList();
 		try {
-			IJavaElement[] elements = unit.getChildren();
-			ArrayList<CodeLens> lenses = new ArrayList<>(elements.length);
-			collectChildren(unit, elements, lenses);
+			List<IJavaElement> elements = getCodeLensElements(unit);
+			ArrayList<CodeLens> lenses = new ArrayList<>(elements.size());
+			for (IJavaElement element : elements) {
+				CodeLens lens = new CodeLens();
+
+				ISourceRange r = ((ISourceReference) element).getNameRange();
+				final Range range = JDTUtils.toRange(unit, r.getOffset(), r.getLength());
+				lens.setRange(range);
+				lens.setData(Arrays.asList(JDTUtils.getFileURI(unit), range.getStart(), element.getHandleIdentifier()));
+				lenses.add(lens);
+			}
 			return lenses;
 		} catch (JavaModelException e) {
 			JavaLanguageServerPlugin.logException("Problem getting code lenses for" + unit.getElementName(), e);
@@ -128,27 +156,20 @@ public class CodeLensHandler {
 		return Collections.emptyList();
 	}
 
-	private void collectChildren(ICompilationUnit unit, IJavaElement[] elements, ArrayList<CodeLens> lenses)
-			throws JavaModelException {
+	private List<IJavaElement> getCodeLensElements(ICompilationUnit unit) throws JavaModelException {
+		List<IJavaElement> result = new ArrayList<>();
+		collectChildren(unit.getChildren(), result);
+		return result;
+	}
+
+	private void collectChildren(IJavaElement[] elements, List<IJavaElement> result) throws JavaModelException {
 		for (IJavaElement element : elements) {
 			if (element.getElementType() == IJavaElement.TYPE) {
-				collectChildren(unit, ((IType) element).getChildren(), lenses);
+				collectChildren(((IType) element).getChildren(), result);
 			} else if (element.getElementType() != IJavaElement.METHOD || JDTUtils.isHiddenGeneratedElement(element)) {
 				continue;
 			}
-
-			CodeLens lens = new CodeLens();
-
-			ISourceRange r = ((ISourceReference) element).getNameRange();
-			final Range range = JDTUtils.toRange(unit, r.getOffset(), r.getLength());
-			lens.setRange(range);
-			lens.setData(Arrays.asList(JDTUtils.getFileURI(unit), range.getStart()));
-			lenses.add(lens);
+			result.add(element);
 		}
 	}
-
-	private IJavaSearchScope createSearchScope() throws JavaModelException {
-		IJavaProject[] projects = JavaCore.create(ResourcesPlugin.getWorkspace().getRoot()).getJavaProjects();
-		return SearchEngine.createJavaSearchScope(projects, IJavaSearchScope.SOURCES);
-	}
 }
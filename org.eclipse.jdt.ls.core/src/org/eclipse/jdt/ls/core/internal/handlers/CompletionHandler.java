@@ -23,6 +23,8 @@ import org.eclipse.jdt.ls.core.internal.CancellableProgressMonitor;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.contentassist.CompletionProposalRequestor;
+import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
+import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionList;
 import org.eclipse.lsp4j.TextDocumentPositionParams;
@@ -31,6 +33,12 @@ import org.eclipse.lsp4j.jsonrpc.messages.Either;
 
 public class CompletionHandler{
 
+	private PreferenceManager preferenceManager;
+
+	public CompletionHandler(PreferenceManager preferenceManager) {
+		this.preferenceManager = preferenceManager;
+	}
+
 	CompletableFuture<Either<List<CompletionItem>, CompletionList>> completion(TextDocumentPositionParams position){
 		return CompletableFutures.computeAsync(cancelChecker->{
 			ICompilationUnit unit = JDTUtils.resolveCompilationUnit(position.getTextDocument().getUri());
@@ -53,6 +61,13 @@ public class CompletionHandler{
 		try {
 			final int offset = JsonRpcHelpers.toOffset(unit.getBuffer(), line, column);
 			CompletionProposalRequestor collector = new CompletionProposalRequestor(unit, offset);
+			if (preferenceManager != null) {
+				Preferences preferences = preferenceManager.getPreferences();
+				if (preferences.isParallelCompletionConversionEnabled()) {
+					collector.setParallelConversionThreshold(CompletionProposalRequestor.PARALLEL_CONVERSION_THRESHOLD);
+				}
+				collector.setDeferDetails(preferences.isDeferredCompletionDetailsEnabled());
+			}
 			// Allow completions for unresolved types - since 3.3
 			collector.setAllowsRequiredProposals(CompletionProposal.FIELD_REF, CompletionProposal.TYPE_REF, true);
 			collector.setAllowsRequiredProposals(CompletionProposal.FIELD_REF, CompletionProposal.TYPE_IMPORT, true);
@@ -71,7 +86,7 @@ public class CompletionHandler{
 
 			if (offset >-1 && !monitor.isCanceled()) {
 				unit.codeComplete(offset, collector, monitor);
-				proposals.addAll(collector.getCompletionItems());
+				proposals.addAll(collector.getCompletionItems(monitor));
 			}
 		} catch (JavaModelException e) {
 			JavaLanguageServerPlugin.logException("Problem with codeComplete for " +  unit.getElementName(), e);
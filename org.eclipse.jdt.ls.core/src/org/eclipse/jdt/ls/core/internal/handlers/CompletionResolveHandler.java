@@ -14,12 +14,13 @@ import static org.eclipse.jdt.internal.corext.template.java.SignatureUtil.fix836
 import static org.eclipse.jdt.internal.corext.template.java.SignatureUtil.getLowerBound;
 import static org.eclipse.jdt.internal.corext.template.java.SignatureUtil.stripSignatureToFQN;
 
-import java.io.IOException;
-import java.io.Reader;
 import java.util.Map;
 
+import org.eclipse.jdt.core.CompletionContext;
+import org.eclipse.jdt.core.CompletionProposal;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
@@ -28,20 +29,15 @@ import org.eclipse.jdt.core.Signature;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.contentassist.CompletionProposalDescriptionProvider;
 import org.eclipse.jdt.ls.core.internal.contentassist.CompletionProposalReplacementProvider;
-import org.eclipse.jdt.ls.core.internal.javadoc.JavadocContentAccess;
+import org.eclipse.jdt.ls.core.internal.javadoc.JavadocCache;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.osgi.util.NLS;
 
-import com.google.common.io.CharStreams;
-
 @SuppressWarnings("restriction")
 public class CompletionResolveHandler {
 
-	public static final String DATA_FIELD_URI = "uri";
-	public static final String DATA_FIELD_DECLARATION_SIGNATURE = "decl_signature";
-	public static final String DATA_FIELD_SIGNATURE= "signature";
-	public static final String DATA_FIELD_NAME = "name";
 	public static final String DATA_FIELD_REQUEST_ID = "rid";
 	public static final String DATA_FIELD_PROPOSAL_ID = "pid";
 
@@ -52,7 +48,7 @@ public class CompletionResolveHandler {
 		// clean resolve data
 		param.setData(null);
 
-		if (!data.containsKey(DATA_FIELD_URI) || !data.containsKey(DATA_FIELD_REQUEST_ID) || !data.containsKey(DATA_FIELD_PROPOSAL_ID)) {
+		if (data == null || !data.containsKey(DATA_FIELD_REQUEST_ID) || !data.containsKey(DATA_FIELD_PROPOSAL_ID)) {
 			return param;
 		}
 		int proposalId = Integer.parseInt(data.get(DATA_FIELD_PROPOSAL_ID));
@@ -61,57 +57,106 @@ public class CompletionResolveHandler {
 		if (completionResponse == null || completionResponse.getProposals().size() <= proposalId) {
 			throw new IllegalStateException("Invalid completion proposal");
 		}
-		String uri = data.get(DATA_FIELD_URI);
+		String uri = completionResponse.getUri();
 		ICompilationUnit unit = JDTUtils.resolveCompilationUnit(uri);
 		if (unit == null) {
 			throw new IllegalStateException(NLS.bind("Unable to match Compilation Unit from {0} ", uri));
 		}
+		CompletionProposal proposal = completionResponse.getProposals().get(proposalId);
 		CompletionProposalReplacementProvider proposalProvider = new CompletionProposalReplacementProvider(unit, completionResponse.getContext(), completionResponse.getOffset());
-		proposalProvider.updateReplacement(completionResponse.getProposals().get(proposalId), param, '\0');
-
-		if (data.containsKey(DATA_FIELD_DECLARATION_SIGNATURE)) {
-			String typeName = stripSignatureToFQN(String.valueOf(data.get(DATA_FIELD_DECLARATION_SIGNATURE)));
-			try {
-				IMember member = null;
-				IType type = unit.getJavaProject().findType(typeName);
+		proposalProvider.updateReplacement(proposal, param, '\0');
 
-				if (type!=null && data.containsKey(DATA_FIELD_NAME)) {
-					String name = data.get(DATA_FIELD_NAME);
-					String[] paramSigs = CharOperation.NO_STRINGS;
-					if(data.containsKey( DATA_FIELD_SIGNATURE)){
-						String[] parameters= Signature.getParameterTypes(String.valueOf(fix83600(data.get(DATA_FIELD_SIGNATURE).toCharArray())));
-						for (int i= 0; i < parameters.length; i++) {
-							parameters[i]= getLowerBound(parameters[i]);
-						}
-						paramSigs = parameters;
-					}
-					IMethod method = type.getMethod(name, paramSigs);
-					if (method.exists()) {
-						member = method;
-					} else {
-						IField field = type.getField(name);
-						if (field.exists()) {
-							member = field;
-						}
-					}
-				} else {
-					member = type;
-				}
+		if (completionResponse.isDetailsDeferred()) {
+			// the label was already sent to the client, which doesn't update it, only fill the detail in
+			CompletionItem described = new CompletionItem();
+			new CompletionProposalDescriptionProvider(completionResponse.getContext()).updateDescription(proposal, described);
+			param.setDetail(described.getDetail());
+		}
 
-				if (member!=null && member.exists()) {
-					Reader reader = JavadocContentAccess.getHTMLContentReader(member, true, true);
-					if (reader != null) {
-						try {
-							param.setDocumentation(CharStreams.toString(reader));
-						} catch (IOException e) {
-							JavaLanguageServerPlugin.logException("Unable to read documentation", e);
-						}
-					}
+		try {
+			IMember member = findMember(unit.getJavaProject(), proposal, completionResponse.getContext());
+			if (member!=null && member.exists()) {
+				String javadoc = JavadocCache.getInstance().getHTMLContent(member, true, true);
+				if (javadoc != null) {
+					param.setDocumentation(javadoc);
 				}
-			} catch (JavaModelException e) {
-				JavaLanguageServerPlugin.logException("Unable to resolve compilation", e);
 			}
+		} catch (JavaModelException e) {
+			JavaLanguageServerPlugin.logException("Unable to resolve compilation", e);
 		}
 		return param;
 	}
+
+	/**
+	 * Finds the member documented by the given proposal, from the declaration
+	 * signature, name and signature carried by the proposal itself.
+	 *
+	 * @param project the project to look the declaring type up from
+	 * @param proposal the proposal to find the member of
+	 * @param context the completion context the proposal was computed for
+	 * @return the matching member or <code>null</code> if none applies
+	 * @throws JavaModelException
+	 */
+	private IMember findMember(IJavaProject project, CompletionProposal proposal, CompletionContext context) throws JavaModelException {
+		boolean inJavadoc = context != null && context.isInJavadoc();
+		char[] declarationSignature;
+		char[] name = null;
+		char[] signature = null;
+		switch (proposal.getKind()) {
+		case CompletionProposal.METHOD_NAME_REFERENCE:
+		case CompletionProposal.METHOD_REF:
+		case CompletionProposal.CONSTRUCTOR_INVOCATION:
+		case CompletionProposal.METHOD_REF_WITH_CASTED_RECEIVER:
+		case CompletionProposal.POTENTIAL_METHOD_DECLARATION:
+			if (inJavadoc) {
+				return null;
+			}
+			//$FALL-THROUGH$
+		case CompletionProposal.METHOD_DECLARATION:
+			declarationSignature = proposal.getDeclarationSignature();
+			name = proposal.getName();
+			signature = proposal.getSignature();
+			break;
+		case CompletionProposal.ANONYMOUS_CLASS_DECLARATION:
+		case CompletionProposal.ANONYMOUS_CLASS_CONSTRUCTOR_INVOCATION:
+			declarationSignature = Signature.getTypeErasure(proposal.getDeclarationSignature());
+			break;
+		case CompletionProposal.TYPE_REF:
+			declarationSignature = inJavadoc ? Signature.getTypeErasure(proposal.getSignature()) : proposal.getSignature();
+			break;
+		case CompletionProposal.ANNOTATION_ATTRIBUTE_REF:
+		case CompletionProposal.FIELD_REF:
+		case CompletionProposal.FIELD_REF_WITH_CASTED_RECEIVER:
+			declarationSignature = proposal.getDeclarationSignature();
+			name = proposal.getName();
+			break;
+		default:
+			return null;
+		}
+		if (declarationSignature == null) {
+			return null;
+		}
+		String typeName = stripSignatureToFQN(String.valueOf(declarationSignature));
+		IType type = project.findType(typeName);
+		if (type == null || name == null) {
+			return type;
+		}
+		String[] paramSigs = CharOperation.NO_STRINGS;
+		if (signature != null) {
+			String[] parameters= Signature.getParameterTypes(String.valueOf(fix83600(signature)));
+			for (int i= 0; i < parameters.length; i++) {
+				parameters[i]= getLowerBound(parameters[i]);
+			}
+			paramSigs = parameters;
+		}
+		IMethod method = type.getMethod(String.valueOf(name), paramSigs);
+		if (method.exists()) {
+			return method;
+		}
+		IField field = type.getField(String.valueOf(name));
+		if (field.exists()) {
+			return field;
+		}
+		return null;
+	}
 }
@@ -25,6 +25,8 @@ public class CompletionResponse {
 	private static long idSeed;
 	private Long id;
 	private int offset;
+	private String uri;
+	private boolean detailsDeferred;
 	private CompletionContext context;
 	private List<CompletionProposal> proposals;
 
@@ -75,4 +77,28 @@ public class CompletionResponse {
 	public void setOffset(int offset) {
 		this.offset = offset;
 	}
+	/**
+	 * @return the uri of the compilation unit the proposals were computed for
+	 */
+	public String getUri() {
+		return uri;
+	}
+	/**
+	 * @param uri the uri of the compilation unit to set
+	 */
+	public void setUri(String uri) {
+		this.uri = uri;
+	}
+	/**
+	 * @return whether item details are computed on resolve rather than in the initial list
+	 */
+	public boolean isDetailsDeferred() {
+		return detailsDeferred;
+	}
+	/**
+	 * @param detailsDeferred whether item details are computed on resolve
+	 */
+	public void setDetailsDeferred(boolean detailsDeferred) {
+		this.detailsDeferred = detailsDeferred;
+	}
 }
@@ -27,6 +27,9 @@ import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.SharedASTProvider;
+import org.eclipse.jdt.ls.core.internal.hover.HoverCache;
+import org.eclipse.jdt.ls.core.internal.hover.JavaElementLabelComposer;
+import org.eclipse.jdt.ls.core.internal.javadoc.JavadocCache;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
 import org.eclipse.jdt.ls.core.internal.preferences.Preferences.Severity;
@@ -154,6 +157,7 @@ public class DocumentLifeCycleHandler {
 
 		try {
 			SharedASTProvider.getInstance().invalidate(unit);
+			JavadocCache.getInstance().invalidate(unit);
 			List<TextDocumentContentChangeEvent> contentChanges = params.getContentChanges();
 			for (TextDocumentContentChangeEvent changeEvent : contentChanges) {
 
@@ -176,6 +180,10 @@ public class DocumentLifeCycleHandler {
 			unit.reconcile(ICompilationUnit.NO_AST, true, false, JavaLanguageServerPlugin.getInstance().getWorkingCopyOwner(), null);
 		} catch (JavaModelException | MalformedTreeException | BadLocationException e) {
 			JavaLanguageServerPlugin.logException("Failed to apply changes",e);
+		} finally {
+			// once the change is applied, so hovers and labels computed meanwhile aren't kept
+			HoverCache.getInstance().invalidate(unit);
+			JavaElementLabelComposer.invalidateLabels(unit);
 		}
 	}
 
@@ -188,8 +196,12 @@ public class DocumentLifeCycleHandler {
 		}
 		try {
 			SharedASTProvider.getInstance().invalidate(unit);
+			JavadocCache.getInstance().invalidate(unit);
 			unit.discardWorkingCopy();
 		} catch (CoreException e) {
+		} finally {
+			HoverCache.getInstance().invalidate(unit);
+			JavaElementLabelComposer.invalidateLabels(unit);
 		}
 	}
 }
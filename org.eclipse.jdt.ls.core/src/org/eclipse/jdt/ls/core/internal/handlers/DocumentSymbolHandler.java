@@ -10,56 +10,129 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.handlers;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
+import org.eclipse.core.resources.IResource;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.ISourceReference;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.ls.core.internal.DocumentAdapter;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.lsp4j.DocumentSymbolParams;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.SymbolKind;
 
 public class DocumentSymbolHandler {
 
+	private static final int MAX_OUTLINES = 20;
+
+	/**
+	 * Outlines of the most recently requested documents, by document handle
+	 */
+	private static final Map<String, Outline> outlines = new LinkedHashMap<String, Outline>(16, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Outline> eldest) {
+			return size() > MAX_OUTLINES;
+		}
+	};
+
 	private SymbolInformation[] getOutline(ITypeRoot unit) {
 		try {
+			String handle = unit.getHandleIdentifier();
+			IDocument document = getDocument(unit);
+			long stamp = getStamp(unit, document);
+			if (stamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP) {
+				synchronized (outlines) {
+					Outline previous = outlines.get(handle);
+					if (previous != null && previous.isUpToDate(document, stamp)) {
+						return previous.symbols;
+					}
+				}
+			}
+			OutlineBuilder builder = new OutlineBuilder(unit);
 			IJavaElement[] elements = unit.getChildren();
 			ArrayList<SymbolInformation> symbols = new ArrayList<>(elements.length);
-			collectChildren(unit, elements, symbols);
-			return symbols.toArray(new SymbolInformation[symbols.size()]);
+			collectChildren(builder, elements, symbols);
+			SymbolInformation[] result = symbols.toArray(new SymbolInformation[symbols.size()]);
+			if (stamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP) {
+				synchronized (outlines) {
+					outlines.put(handle, new Outline(document, stamp, result));
+				}
+			}
+			return result;
 		} catch (JavaModelException e) {
 			JavaLanguageServerPlugin.logException("Problem getting outline for" +  unit.getElementName(), e);
 		}
 		return new SymbolInformation[0];
 	}
 
-	private void collectChildren(ITypeRoot unit, IJavaElement[] elements, ArrayList<SymbolInformation> symbols)
+	private void collectChildren(OutlineBuilder builder, IJavaElement[] elements, ArrayList<SymbolInformation> symbols)
 			throws JavaModelException {
 		for(IJavaElement element : elements ){
 			if(element.getElementType() == IJavaElement.TYPE){
-				collectChildren(unit, ((IType)element).getChildren(),symbols);
+				collectChildren(builder, ((IType)element).getChildren(),symbols);
 			}
 			if(element.getElementType() != IJavaElement.FIELD &&
 					element.getElementType() != IJavaElement.METHOD
 					){
 				continue;
 			}
+			symbols.add(builder.getSymbol(element));
+		}
+	}
 
-			SymbolInformation si = new SymbolInformation();
-			si.setName(element.getElementName());
-			si.setKind(mapKind(element));
-			if(element.getParent() != null )
-				si.setContainerName(element.getParent().getElementName());
-			si.setLocation(JDTUtils.toLocation(element));
-			symbols.add(si);
+	/**
+	 * @return the document open on the compilation unit, or <code>null</code>
+	 *         if its contents are the ones of its file
+	 */
+	private static IDocument getDocument(ITypeRoot unit) throws JavaModelException {
+		if (unit instanceof ICompilationUnit) {
+			IBuffer buffer = unit.getBuffer();
+			if (buffer instanceof DocumentAdapter && ((DocumentAdapter) buffer).getDocument() instanceof IDocumentExtension4) {
+				return ((DocumentAdapter) buffer).getDocument();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the modification stamp of the document, or else of the file, of
+	 *         the compilation unit, or
+	 *         {@link IDocumentExtension4#UNKNOWN_MODIFICATION_STAMP} if it is
+	 *         unknown
+	 */
+	private static long getStamp(ITypeRoot unit, IDocument document) {
+		if (!(unit instanceof ICompilationUnit)) {
+			return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		}
+		if (document != null) {
+			return ((IDocumentExtension4) document).getModificationStamp();
 		}
+		IResource resource = unit.getResource();
+		// the unknown file stamp is the same as the unknown document stamp
+		return resource == null ? IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP : resource.getModificationStamp();
 	}
 
 	CompletableFuture<List<? extends SymbolInformation>> documentSymbol(DocumentSymbolParams params){
@@ -103,4 +176,91 @@ public class DocumentSymbolHandler {
 		return SymbolKind.String;
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Symbols of a document at a given modification stamp.
+	 */
+	private static class Outline {
+
+		/**
+		 * The document the symbols were computed from, <code>null</code> when
+		 * they were computed from the file. Stamps are only unique for a given
+		 * document, and the document isn't kept alive once closed.
+		 */
+		final WeakReference<IDocument> document;
+
+		final long stamp;
+
+		final SymbolInformation[] symbols;
+
+		Outline(IDocument document, long stamp, SymbolInformation[] symbols) {
+			this.document = document == null ? null : new WeakReference<>(document);
+			this.stamp = stamp;
+			this.symbols = symbols;
+		}
+
+		boolean isUpToDate(IDocument currentDocument, long currentStamp) {
+			if (stamp != currentStamp) {
+				return false;
+			}
+			return document == null ? currentDocument == null : currentDocument != null && document.get() == currentDocument;
+		}
+	}
+
+	/**
+	 * Creates the symbols of an outline. The document URI and line
+	 * information are computed once for all the symbols.
+	 */
+	private static class OutlineBuilder {
+
+		private final String uri;
+
+		private final IDocument document;
+
+		OutlineBuilder(ITypeRoot unit) throws JavaModelException {
+			IBuffer buffer = unit.getBuffer();
+			if (unit instanceof ICompilationUnit && buffer != null) {
+				this.uri = JDTUtils.getFileURI((ICompilationUnit) unit);
+				this.document = JsonRpcHelpers.toDocument(buffer);
+			} else {
+				this.uri = null;
+				this.document = null;
+			}
+		}
+
+		SymbolInformation getSymbol(IJavaElement element) throws JavaModelException {
+			ISourceRange nameRange = ((ISourceReference) element).getNameRange();
+			Position start = toPosition(nameRange);
+			if (start == null) {
+				return createSymbol(element, JDTUtils.toLocation(element));
+			}
+			// names are on a single line
+			Position end = new Position(start.getLine(), start.getCharacter() + nameRange.getLength());
+			Location location = new Location();
+			location.setUri(uri);
+			location.setRange(new Range(start, end));
+			return createSymbol(element, location);
+		}
+
+		private Position toPosition(ISourceRange range) {
+			if (document == null || range == null || range.getOffset() < 0) {
+				return null;
+			}
+			try {
+				int line = document.getLineOfOffset(range.getOffset());
+				return new Position(line, range.getOffset() - document.getLineOffset(line));
+			} catch (BadLocationException e) {
+				return null;
+			}
+		}
+
+		private static SymbolInformation createSymbol(IJavaElement element, Location location) {
+			SymbolInformation si = new SymbolInformation();
+			si.setName(element.getElementName());
+			si.setKind(mapKind(element));
+			if(element.getParent() != null )
+				si.setContainerName(element.getParent().getElementName());
+			si.setLocation(location);
+			return si;
+		}
+	}
+}
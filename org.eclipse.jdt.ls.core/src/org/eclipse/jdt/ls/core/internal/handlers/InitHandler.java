@@ -13,9 +13,9 @@ package org.eclipse.jdt.ls.core.internal.handlers;
 import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.logInfo;
 
 import java.util.Arrays;
+import java.util.Map;
 
 import org.eclipse.core.resources.IResourceChangeEvent;
-import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -44,6 +44,18 @@ import org.eclipse.lsp4j.TextDocumentSyncKind;
  */
 final public class InitHandler {
 
+	/**
+	 * Initialization option for the protocol extensions supported by the client
+	 */
+	public static final String EXTENDED_CLIENT_CAPABILITIES = "extendedClientCapabilities";
+
+	/**
+	 * Extended client capability, <code>true</code> when the client requests
+	 * the locations of code lens references with
+	 * <code>java/codeLensReferences</code>
+	 */
+	public static final String CODE_LENS_REFERENCES_CAPABILITY = "codeLensReferences";
+
 	private ProjectsManager projectsManager;
 	private JavaClientConnection connection;
 	private PreferenceManager preferenceManager;
@@ -57,6 +69,7 @@ final public class InitHandler {
 
 	InitializeResult initialize(InitializeParams param){
 		logInfo("Initializing Java Language Server "+JavaLanguageServerPlugin.getVersion());
+		initializeClientCapabilities(param.getInitializationOptions());
 		triggerInitialization(param.getRootUri() == null? param.getRootPath():param.getRootUri());
 		ResourcesPlugin.getWorkspace().addResourceChangeListener(new WorkspaceDiagnosticsHandler(connection, projectsManager), IResourceChangeEvent.POST_BUILD | IResourceChangeEvent.POST_CHANGE);
 		JavaLanguageServerPlugin.getLanguageServer().setParentProcessId(param.getProcessId().longValue());
@@ -78,6 +91,20 @@ final public class InitHandler {
 		return result;
 	}
 
+	/**
+	 * Reads the protocol extensions supported by the client, advertised in the
+	 * <code>extendedClientCapabilities</code> initialization option.
+	 */
+	private void initializeClientCapabilities(Object initializationOptions) {
+		if (initializationOptions instanceof Map) {
+			Object extendedCapabilities = ((Map<?, ?>) initializationOptions).get(EXTENDED_CLIENT_CAPABILITIES);
+			if (extendedCapabilities instanceof Map) {
+				Object codeLensReferences = ((Map<?, ?>) extendedCapabilities).get(CODE_LENS_REFERENCES_CAPABILITY);
+				preferenceManager.setCodeLensReferencesSupported(Boolean.TRUE.equals(codeLensReferences));
+			}
+		}
+	}
+
 	private void triggerInitialization(String root) {
 		// Adjust any default preferences to server use
 		preferenceManager.initialize();
@@ -87,15 +114,30 @@ final public class InitHandler {
 			protected IStatus run(IProgressMonitor monitor) {
 				connection.sendStatus(ServiceStatus.Starting, "Init...");
 				IStatus status = projectsManager.initializeProjects(root, new ServerStatusMonitor());
+				scheduleBuild(status);
+				return Status.OK_STATUS;
+			}
+		};
+		// no rule: the import operations lock what they change themselves, so
+		// documents opened meanwhile aren't blocked until the import is over
+		job.setPriority(Job.BUILD);
+		job.schedule();
+
+	}
+
+	private void scheduleBuild(IStatus importStatus) {
+		Job job = new Job("Build Workspace") {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
 				try {
-					ResourcesPlugin.getWorkspace().build(IncrementalProjectBuilder.FULL_BUILD, monitor);
+					projectsManager.buildWorkspace(monitor);
 				} catch (CoreException e) {
 					JavaLanguageServerPlugin.logException("Build failed ", e);
 				}
-				if (status.isOK()) {
+				if (importStatus.isOK()) {
 					connection.sendStatus(ServiceStatus.Started, "Ready");
 				} else {
-					connection.sendStatus(ServiceStatus.Error, getMessage(status));
+					connection.sendStatus(ServiceStatus.Error, getMessage(importStatus));
 				}
 				return Status.OK_STATUS;
 			}
@@ -113,9 +155,7 @@ final public class InitHandler {
 			}
 		};
 		job.setPriority(Job.BUILD);
-		job.setRule(ResourcesPlugin.getWorkspace().getRoot());
 		job.schedule();
-
 	}
 
 	private class ServerStatusMonitor extends NullProgressMonitor{
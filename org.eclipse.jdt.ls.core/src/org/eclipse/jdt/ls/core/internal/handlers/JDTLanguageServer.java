@@ -17,6 +17,7 @@ import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.ls.core.internal.CodeLensReferencesParams;
 import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
 import org.eclipse.jdt.ls.core.internal.JavaClientConnection.JavaLanguageClient;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
@@ -145,7 +146,7 @@ public class JDTLanguageServer implements LanguageServer, TextDocumentService, W
 	@Override
 	public CompletableFuture<List<? extends SymbolInformation>> symbol(WorkspaceSymbolParams params) {
 		logInfo(">> workspace/symbol");
-		WorkspaceSymbolHandler handler = new WorkspaceSymbolHandler();
+		WorkspaceSymbolHandler handler = new WorkspaceSymbolHandler(preferenceManager);
 		return CompletableFuture.supplyAsync(()->{return handler.search(params.getQuery());});
 	}
 
@@ -181,7 +182,7 @@ public class JDTLanguageServer implements LanguageServer, TextDocumentService, W
 	@Override
 	public CompletableFuture<Either<List<CompletionItem>, CompletionList>> completion(TextDocumentPositionParams position) {
 		logInfo(">> document/completion");
-		CompletionHandler handler = new CompletionHandler();
+		CompletionHandler handler = new CompletionHandler(preferenceManager);
 		return handler.completion(position);
 	}
 
@@ -231,7 +232,7 @@ public class JDTLanguageServer implements LanguageServer, TextDocumentService, W
 	@Override
 	public CompletableFuture<List<? extends Location>> references(ReferenceParams params) {
 		logInfo(">> document/references");
-		ReferencesHandler handler = new ReferencesHandler();
+		ReferencesHandler handler = new ReferencesHandler(preferenceManager, client);
 		return CompletableFuture.supplyAsync(()->handler.findReferences(params));
 	}
 
@@ -375,6 +376,16 @@ public class JDTLanguageServer implements LanguageServer, TextDocumentService, W
 		return  handler.contents(param);
 	}
 
+	/* (non-Javadoc)
+	 * @see org.eclipse.jdt.ls.core.internal.JavaProtocolExtensions#codeLensReferences(org.eclipse.jdt.ls.core.internal.CodeLensReferencesParams)
+	 */
+	@Override
+	public CompletableFuture<List<? extends Location>> codeLensReferences(CodeLensReferencesParams params) {
+		logInfo(">> java/codeLensReferences");
+		CodeLensHandler handler = new CodeLensHandler(preferenceManager);
+		return CompletableFuture.supplyAsync(()->handler.getReferences(params));
+	}
+
 	/* (non-Javadoc)
 	 * @see org.eclipse.jdt.ls.core.internal.JavaProtocolExtensions#projectConfigurationUpdate(org.eclipse.lsp4j.TextDocumentIdentifier)
 	 */
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
+import org.eclipse.jdt.ls.core.internal.PartialResultNotification;
+import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
+import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
+
+/**
+ * Collects the results of a request as they are found. Results are streamed to
+ * the client in batches, with {@link PartialResultNotification}s carrying the
+ * request id, and collecting stops once the maximum number of results is
+ * reached. The response to the request still holds all the collected results,
+ * the streamed ones included, for the clients ignoring the notifications.
+ */
+public class PartialResultCollector<T> {
+
+	private final JavaClientConnection connection;
+	private final String requestId;
+	private final String method;
+	private final Object params;
+	private final int batchSize;
+	private final int maxResults;
+	private final List<T> results = new ArrayList<>();
+	private int sent;
+
+	/**
+	 * @param connection
+	 *            the client connection, results aren't streamed if
+	 *            <code>null</code>
+	 * @param requestId
+	 *            the id of the request, sent back with the results
+	 * @param method
+	 *            the method of the request
+	 * @param params
+	 *            the parameters of the request, sent back with the results
+	 * @param batchSize
+	 *            the number of results per notification, results aren't
+	 *            streamed if <code>0</code>
+	 * @param maxResults
+	 *            the maximum number of results, unlimited if <code>0</code>
+	 */
+	public PartialResultCollector(JavaClientConnection connection, String requestId, String method, Object params, int batchSize, int maxResults) {
+		this.connection = connection;
+		this.requestId = requestId;
+		this.method = method;
+		this.params = params;
+		this.batchSize = batchSize;
+		this.maxResults = maxResults;
+	}
+
+	/**
+	 * Creates a collector configured from the preferences.
+	 */
+	public static <T> PartialResultCollector<T> create(PreferenceManager preferenceManager, JavaClientConnection connection, String requestId, String method, Object params) {
+		Preferences preferences = preferenceManager == null ? null : preferenceManager.getPreferences();
+		if (preferences == null) {
+			return new PartialResultCollector<>(null, requestId, method, params, 0, 0);
+		}
+		return new PartialResultCollector<>(connection, requestId, method, params, preferences.getPartialResultsBatchSize(), preferences.getSearchMaxResults());
+	}
+
+	/**
+	 * Adds a result, sending the pending results to the client once they fill a
+	 * batch.
+	 *
+	 * @return <code>false</code> if the maximum number of results is reached
+	 */
+	public synchronized boolean add(T result) {
+		if (isFull()) {
+			return false;
+		}
+		results.add(result);
+		if (connection != null && batchSize > 0 && results.size() - sent >= batchSize) {
+			connection.sendPartialResult(new PartialResultNotification().withId(requestId).withMethod(method).withParams(params).withItems(new ArrayList<>(results.subList(sent, results.size()))));
+			sent = results.size();
+		}
+		return !isFull();
+	}
+
+	/**
+	 * @return whether the maximum number of results is reached
+	 */
+	public synchronized boolean isFull() {
+		return maxResults > 0 && results.size() >= maxResults;
+	}
+
+	/**
+	 * @return all the collected results
+	 */
+	public synchronized List<T> getResults() {
+		return results;
+	}
+}
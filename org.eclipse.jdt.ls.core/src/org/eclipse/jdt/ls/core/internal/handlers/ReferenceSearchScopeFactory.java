@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+
+/**
+ * Creates the smallest search scopes where references to an element can be
+ * found.
+ *
+ * Elements only visible from their compilation unit (private members, local
+ * variables...) are searched in that compilation unit, package private source
+ * members in their package. Other elements are searched in the projects that
+ * can see the project, or the library, declaring them.
+ */
+public final class ReferenceSearchScopeFactory {
+
+	private ReferenceSearchScopeFactory() {
+		//no instances allowed
+	}
+
+	/**
+	 * @param element
+	 *            the element to search references of
+	 * @param includeMask
+	 *            the kind of package fragment roots to search, as in
+	 *            {@link SearchEngine#createJavaSearchScope(IJavaElement[], int)}
+	 * @return the search scope
+	 * @throws JavaModelException
+	 */
+	public static IJavaSearchScope create(IJavaElement element, int includeMask) throws JavaModelException {
+		return SearchEngine.createJavaSearchScope(getScopeElements(element), includeMask);
+	}
+
+	/**
+	 * @param elements
+	 *            the elements to search references of
+	 * @param includeMask
+	 *            the kind of package fragment roots to search, as in
+	 *            {@link SearchEngine#createJavaSearchScope(IJavaElement[], int)}
+	 * @return the union of the search scopes of the given elements
+	 * @throws JavaModelException
+	 */
+	public static IJavaSearchScope create(IJavaElement[] elements, int includeMask) throws JavaModelException {
+		Set<IJavaElement> scopeElements = new LinkedHashSet<>();
+		for (IJavaElement element : elements) {
+			scopeElements.addAll(Arrays.asList(getScopeElements(element)));
+		}
+		return SearchEngine.createJavaSearchScope(scopeElements.toArray(new IJavaElement[scopeElements.size()]), includeMask);
+	}
+
+	private static IJavaElement[] getScopeElements(IJavaElement element) throws JavaModelException {
+		ICompilationUnit unit = (ICompilationUnit) element.getAncestor(IJavaElement.COMPILATION_UNIT);
+		if (unit != null) {
+			if (!(element instanceof IMember) || isPrivate((IMember) element)) {
+				return new IJavaElement[] { unit };
+			}
+			if (isPackageVisible((IMember) element)) {
+				IPackageFragment fragment = (IPackageFragment) element.getAncestor(IJavaElement.PACKAGE_FRAGMENT);
+				return getPackageFragments(fragment.getElementName(), getReferencingProjects(element));
+			}
+		}
+		return getReferencingProjects(element);
+	}
+
+	/**
+	 * @return the projects that can reference the given element
+	 */
+	private static IJavaProject[] getReferencingProjects(IJavaElement element) throws JavaModelException {
+		IJavaProject[] projects = JavaCore.create(ResourcesPlugin.getWorkspace().getRoot()).getJavaProjects();
+		IPackageFragmentRoot root = (IPackageFragmentRoot) element.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+		Set<IJavaProject> referencing = new LinkedHashSet<>();
+		if (root != null && root.isArchive()) {
+			// library element, visible from the projects having the library on their classpath
+			IPath path = root.getPath();
+			for (IJavaProject project : projects) {
+				if (project.findPackageFragmentRoot(path) != null) {
+					referencing.add(project);
+				}
+			}
+		} else {
+			referencing.add(element.getJavaProject());
+		}
+		// add the projects depending on the referencing projects, until none is added
+		boolean added = true;
+		while (added) {
+			added = false;
+			for (IJavaProject project : projects) {
+				if (!referencing.contains(project) && requiresAny(project, referencing)) {
+					referencing.add(project);
+					added = true;
+				}
+			}
+		}
+		return referencing.toArray(new IJavaProject[referencing.size()]);
+	}
+
+	private static boolean requiresAny(IJavaProject project, Set<IJavaProject> required) throws JavaModelException {
+		// the required projects come from the resolved classpath, as Maven and
+		// Gradle projects get their project dependencies from classpath containers
+		for (String name : project.getRequiredProjectNames()) {
+			for (IJavaProject requiredProject : required) {
+				if (requiredProject.getElementName().equals(name)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static IJavaElement[] getPackageFragments(String packageName, IJavaProject[] projects) throws JavaModelException {
+		List<IJavaElement> fragments = new ArrayList<>();
+		for (IJavaProject project : projects) {
+			for (IPackageFragmentRoot root : project.getPackageFragmentRoots()) {
+				if (root.getKind() == IPackageFragmentRoot.K_SOURCE && project.equals(root.getJavaProject())) {
+					IPackageFragment fragment = root.getPackageFragment(packageName);
+					if (fragment.exists()) {
+						fragments.add(fragment);
+					}
+				}
+			}
+		}
+		return fragments.toArray(new IJavaElement[fragments.size()]);
+	}
+
+	/**
+	 * @return whether the member, or one of its declaring types, is private
+	 */
+	private static boolean isPrivate(IMember member) throws JavaModelException {
+		for (IMember current = member; current != null; current = current.getDeclaringType()) {
+			if (current instanceof IType && (((IType) current).isLocal() || ((IType) current).isAnonymous())) {
+				return true;
+			}
+			if (Flags.isPrivate(current.getFlags())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return whether the member, or one of its declaring types, is package
+	 *         private
+	 */
+	private static boolean isPackageVisible(IMember member) throws JavaModelException {
+		for (IMember current = member; current != null; current = current.getDeclaringType()) {
+			IType declaringType = current.getDeclaringType();
+			int flags = current.getFlags();
+			if (declaringType != null && declaringType.isInterface() || Flags.isEnum(flags) && current.getElementType() == IJavaElement.FIELD) {
+				// interface members and enum constants are implicitly public
+				continue;
+			}
+			if (!Flags.isPublic(flags) && !Flags.isProtected(flags) && !Flags.isPrivate(flags)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,611 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.FieldReferenceMatch;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.MethodReferenceMatch;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+import org.eclipse.jdt.core.search.TypeReferenceMatch;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
+import org.eclipse.lsp4j.Location;
+
+/**
+ * Cache of the references to the most recently searched elements, grouped by
+ * referencing compilation unit.
+ *
+ * The cache is kept up to date from the Java element deltas: when only the
+ * bodies of a compilation unit change, the unit is marked dirty and the next
+ * lookup of an element only searches its references in the dirty units. Any
+ * other change (members or types added or removed, classpath changes...)
+ * might change what other units reference, so it clears the whole cache.
+ * Units changing while a search runs are marked dirty once its results are
+ * cached, and units stay dirty until their search results are merged.
+ */
+public class ReferencesCache {
+
+	private static final int MAX_ELEMENTS = 1000;
+
+	private static final int CONTENT_FLAGS = IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_FINE_GRAINED;
+
+	private static final int COMPILATION_UNIT_FLAGS = CONTENT_FLAGS | IJavaElementDelta.F_PRIMARY_RESOURCE | IJavaElementDelta.F_PRIMARY_WORKING_COPY | IJavaElementDelta.F_AST_AFFECTED;
+
+	private static final String TYPE_KIND = "T";
+	private static final String METHOD_KIND = "M";
+	private static final String FIELD_KIND = "F";
+
+	private static ReferencesCache instance = new ReferencesCache();
+
+	private final Map<String, References> cache = new LinkedHashMap<String, References>(16, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, References> eldest) {
+			return size() > MAX_ELEMENTS;
+		}
+	};
+
+	/**
+	 * Keys of the elements whose references couldn't be attributed by a
+	 * prefetch, not to prefetch again until the cache is cleared
+	 */
+	private final Set<String> unattributedKeys = new HashSet<>();
+
+	/**
+	 * Incremented each time the cache is cleared, so that searches started
+	 * before aren't cached
+	 */
+	private long generation;
+
+	/**
+	 * Compilation units whose bodies changed since each running search started
+	 */
+	private final Set<Set<ICompilationUnit>> runningSearches = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	private boolean initialized;
+
+	private final IElementChangedListener listener = this::elementChanged;
+
+	private ReferencesCache() {
+	}
+
+	public static ReferencesCache getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Starts listening to Java element changes, if not done yet.
+	 */
+	public synchronized void initialize() {
+		if (initialized) {
+			return;
+		}
+		initialized = true;
+		JavaCore.addElementChangedListener(listener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	public synchronized void dispose() {
+		if (!initialized) {
+			return;
+		}
+		JavaCore.removeElementChangedListener(listener);
+		clear();
+		initialized = false;
+	}
+
+	public synchronized void clear() {
+		generation++;
+		cache.clear();
+		unattributedKeys.clear();
+	}
+
+	/**
+	 * @return whether the references to the given element are cached
+	 */
+	public synchronized boolean contains(IJavaElement element, int includeMask) {
+		return cache.containsKey(getKey(element, includeMask));
+	}
+
+	/**
+	 * @return whether a {@link #prefetch(Collection, int, IProgressMonitor)
+	 *         prefetch} could cache the references to the given element: they
+	 *         aren't cached, and a previous prefetch could attribute them
+	 */
+	public synchronized boolean isPrefetchable(IJavaElement element, int includeMask) {
+		String key = getKey(element, includeMask);
+		return !cache.containsKey(key) && !unattributedKeys.contains(key);
+	}
+
+	/**
+	 * Returns the locations of the references to the given element, found in
+	 * compilation units. Only the compilation units which changed since the
+	 * previous lookup of the element are searched.
+	 *
+	 * @param element
+	 *            the referenced element
+	 * @param includeMask
+	 *            the kind of package fragment roots to search, as in
+	 *            {@link SearchEngine#createJavaSearchScope(IJavaElement[], int)}
+	 * @param monitor
+	 *            the progress monitor
+	 * @return the reference locations
+	 * @throws CoreException
+	 */
+	public List<Location> getReferences(IJavaElement element, int includeMask, IProgressMonitor monitor) throws CoreException {
+		String key = getKey(element, includeMask);
+		References references;
+		List<ICompilationUnit> dirtyUnits = null;
+		Set<ICompilationUnit> changedUnits;
+		long searchGeneration;
+		synchronized (this) {
+			references = cache.get(key);
+			searchGeneration = generation;
+			if (references != null) {
+				if (references.dirtyUnits.isEmpty()) {
+					return references.getLocations();
+				}
+				// the units stay dirty until the results are merged, so concurrent lookups don't see stale locations
+				dirtyUnits = new ArrayList<>(references.dirtyUnits);
+			}
+			changedUnits = startSearch();
+		}
+		try {
+			IJavaSearchScope scope = ReferenceSearchScopeFactory.create(element, includeMask);
+			if (references == null) {
+				Map<ICompilationUnit, List<Location>> locations = search(element, scope, monitor);
+				references = new References(locations);
+				synchronized (this) {
+					if (generation == searchGeneration) {
+						references.dirtyUnits.addAll(changedUnits);
+						cache.put(key, references);
+					}
+					return references.getLocations();
+				}
+			}
+
+			List<IJavaElement> units = new ArrayList<>(dirtyUnits.size());
+			for (ICompilationUnit unit : dirtyUnits) {
+				if (unit.exists() && scope.encloses(unit)) {
+					units.add(unit);
+				}
+			}
+			Map<ICompilationUnit, List<Location>> locations = units.isEmpty() ? new LinkedHashMap<>() : search(element, SearchEngine.createJavaSearchScope(units.toArray(new IJavaElement[units.size()]), includeMask), monitor);
+			synchronized (this) {
+				for (ICompilationUnit unit : dirtyUnits) {
+					references.locations.remove(unit);
+					if (!changedUnits.contains(unit)) {
+						references.dirtyUnits.remove(unit);
+					}
+				}
+				references.locations.putAll(locations);
+				references.dirtyUnits.addAll(changedUnits);
+				return references.getLocations();
+			}
+		} finally {
+			endSearch(changedUnits);
+		}
+	}
+
+	/**
+	 * Searches the references to the given elements which aren't cached yet in
+	 * a single pass, and caches them.
+	 *
+	 * Matches are attributed to the referenced elements by kind and by the
+	 * name of their selector, or by resolving the selector when no candidate
+	 * has its name. Elements whose matches can't be attributed that way
+	 * (constructors, elements with the same kind and name, unresolved matches)
+	 * aren't cached, their references are searched on lookup, and they are
+	 * skipped by the next prefetches.
+	 *
+	 * @param elements
+	 *            the elements whose references will be looked up
+	 * @param includeMask
+	 *            the kind of package fragment roots to search, as in
+	 *            {@link SearchEngine#createJavaSearchScope(IJavaElement[], int)}
+	 * @param monitor
+	 *            the progress monitor
+	 * @throws CoreException
+	 */
+	public void prefetch(Collection<? extends IJavaElement> elements, int includeMask, IProgressMonitor monitor) throws CoreException {
+		List<IJavaElement> uncached = new ArrayList<>();
+		Set<ICompilationUnit> changedUnits;
+		long searchGeneration;
+		synchronized (this) {
+			searchGeneration = generation;
+			for (IJavaElement element : elements) {
+				if (isPrefetchable(element, includeMask)) {
+					uncached.add(element);
+				}
+			}
+			changedUnits = startSearch();
+		}
+		try {
+			prefetch(uncached, includeMask, searchGeneration, changedUnits, monitor);
+		} finally {
+			endSearch(changedUnits);
+		}
+	}
+
+	private void prefetch(List<IJavaElement> uncached, int includeMask, long searchGeneration, Set<ICompilationUnit> changedUnits, IProgressMonitor monitor) throws CoreException {
+		Map<String, List<IJavaElement>> elementsByBatchKey = new LinkedHashMap<>();
+		Set<IJavaElement> unattributed = new HashSet<>();
+		for (IJavaElement element : uncached) {
+			String batchKey = getBatchKey(element);
+			if (batchKey == null) {
+				unattributed.add(element);
+			} else {
+				elementsByBatchKey.computeIfAbsent(batchKey, k -> new ArrayList<>()).add(element);
+			}
+		}
+		Map<String, IJavaElement> batch = new LinkedHashMap<>();
+		for (Map.Entry<String, List<IJavaElement>> entry : elementsByBatchKey.entrySet()) {
+			if (entry.getValue().size() == 1) {
+				batch.put(entry.getKey(), entry.getValue().get(0));
+			} else {
+				unattributed.addAll(entry.getValue());
+			}
+		}
+		if (batch.size() < 2) {
+			cacheUnattributed(unattributed, includeMask, searchGeneration);
+			return;
+		}
+
+		SearchPattern pattern = null;
+		Map<IJavaElement, IJavaSearchScope> scopes = new HashMap<>();
+		Map<IJavaElement, Map<ICompilationUnit, List<Location>>> found = new HashMap<>();
+		for (IJavaElement element : batch.values()) {
+			SearchPattern elementPattern = SearchPattern.createPattern(element, IJavaSearchConstants.REFERENCES);
+			pattern = pattern == null ? elementPattern : SearchPattern.createOrPattern(pattern, elementPattern);
+			scopes.put(element, ReferenceSearchScopeFactory.create(element, includeMask));
+			found.put(element, new LinkedHashMap<>());
+		}
+		IJavaSearchScope scope = ReferenceSearchScopeFactory.create(batch.values().toArray(new IJavaElement[batch.size()]), includeMask);
+		SearchEngine engine = new SearchEngine();
+		engine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, scope, new SearchRequestor() {
+
+			@Override
+			public void acceptSearchMatch(SearchMatch match) throws CoreException {
+				Object o = match.getElement();
+				String kind = getMatchKind(match);
+				if (!(o instanceof IJavaElement) || kind == null) {
+					return;
+				}
+				ICompilationUnit compilationUnit = (ICompilationUnit) ((IJavaElement) o).getAncestor(IJavaElement.COMPILATION_UNIT);
+				if (compilationUnit == null) {
+					return;
+				}
+				List<IJavaElement> candidates = new ArrayList<>();
+				for (Map.Entry<String, IJavaElement> entry : batch.entrySet()) {
+					if (entry.getKey().startsWith(kind)) {
+						candidates.add(entry.getValue());
+					}
+				}
+				IBuffer buffer = compilationUnit.getBuffer();
+				String text = buffer == null ? "" : buffer.getText(match.getOffset(), match.getLength());
+				// the batched candidates have distinct names, at most one has the selector name
+				int[] selector = getSelectorRange(text, kind);
+				IJavaElement element = null;
+				if (selector != null) {
+					String name = text.substring(selector[0], selector[1]);
+					for (IJavaElement candidate : candidates) {
+						if (candidate.getElementName().equals(name)) {
+							element = candidate;
+						}
+					}
+				}
+				if (element == null) {
+					List<IJavaElement> selected = selector == null ? Collections.emptyList() : getSelectedCandidates(compilationUnit, match.getOffset() + selector[0], selector[1] - selector[0], candidates);
+					if (selected.size() != 1) {
+						unattributed.addAll(candidates);
+						return;
+					}
+					element = selected.get(0);
+				}
+				// the union scope is larger than the one of private or package private elements
+				if (scopes.get(element).encloses(compilationUnit)) {
+					Location location = JDTUtils.toLocation(compilationUnit, match.getOffset(), match.getLength());
+					found.get(element).computeIfAbsent(compilationUnit.getPrimary(), k -> new ArrayList<>()).add(location);
+				}
+			}
+		}, monitor);
+
+		synchronized (this) {
+			if (generation != searchGeneration) {
+				return;
+			}
+			for (IJavaElement element : batch.values()) {
+				if (!unattributed.contains(element)) {
+					References references = new References(found.get(element));
+					references.dirtyUnits.addAll(changedUnits);
+					cache.putIfAbsent(getKey(element, includeMask), references);
+				}
+			}
+			cacheUnattributed(unattributed, includeMask, searchGeneration);
+		}
+	}
+
+	/**
+	 * Registers a running search.
+	 *
+	 * @return the set collecting the compilation units whose bodies change
+	 *         until the search ends
+	 */
+	private synchronized Set<ICompilationUnit> startSearch() {
+		Set<ICompilationUnit> changedUnits = new HashSet<>();
+		runningSearches.add(changedUnits);
+		return changedUnits;
+	}
+
+	private synchronized void endSearch(Set<ICompilationUnit> changedUnits) {
+		runningSearches.remove(changedUnits);
+	}
+
+	private synchronized void cacheUnattributed(Collection<IJavaElement> unattributed, int includeMask, long searchGeneration) {
+		if (generation != searchGeneration) {
+			return;
+		}
+		for (IJavaElement element : unattributed) {
+			unattributedKeys.add(getKey(element, includeMask));
+		}
+	}
+
+	/**
+	 * @return the candidates referenced by the selector of the matched code,
+	 *         resolved with code select
+	 */
+	private static List<IJavaElement> getSelectedCandidates(ICompilationUnit unit, int offset, int length, List<IJavaElement> candidates) {
+		List<IJavaElement> selected = new ArrayList<>();
+		try {
+			for (IJavaElement element : unit.codeSelect(offset, length)) {
+				for (IJavaElement candidate : candidates) {
+					// resolved elements are equal to their declaration
+					if (candidate.equals(element) && !selected.contains(candidate)) {
+						selected.add(candidate);
+					}
+				}
+			}
+		} catch (JavaModelException e) {
+			// can't be resolved
+		}
+		return selected;
+	}
+
+	private static String getKey(IJavaElement element, int includeMask) {
+		return element.getHandleIdentifier() + '|' + includeMask;
+	}
+
+	/**
+	 * @return the kind and name the references to the element are attributed
+	 *         by, or <code>null</code> if they can't be
+	 */
+	private static String getBatchKey(IJavaElement element) throws JavaModelException {
+		switch (element.getElementType()) {
+		case IJavaElement.TYPE:
+			return TYPE_KIND + element.getElementName();
+		case IJavaElement.METHOD:
+			// constructor invocations don't always contain the constructor name
+			return ((IMethod) element).isConstructor() ? null : METHOD_KIND + element.getElementName();
+		case IJavaElement.FIELD:
+			return FIELD_KIND + element.getElementName();
+		default:
+			return null;
+		}
+	}
+
+	private static String getMatchKind(SearchMatch match) {
+		if (match instanceof TypeReferenceMatch) {
+			return TYPE_KIND;
+		}
+		if (match instanceof MethodReferenceMatch) {
+			return METHOD_KIND;
+		}
+		if (match instanceof FieldReferenceMatch) {
+			return FIELD_KIND;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the range of the identifier a match is attributed by: the
+	 * selector of method invocations, which starts their match, or the simple
+	 * name of types and fields, which ends the qualified names they are
+	 * matched by. Identifiers of the arguments, qualifiers or type arguments
+	 * aren't considered, so that <code>a(b())</code> is only attributed to
+	 * <code>a</code>.
+	 *
+	 * @return the start and end of the identifier in the matched text, or
+	 *         <code>null</code> if there isn't any (implicit references)
+	 */
+	private static int[] getSelectorRange(String text, String kind) {
+		if (METHOD_KIND.equals(kind)) {
+			int start = 0;
+			if (text.startsWith("<")) {
+				// explicit type arguments
+				int depth = 0;
+				for (; start < text.length(); start++) {
+					char c = text.charAt(start);
+					if (c == '<') {
+						depth++;
+					} else if (c == '>' && --depth == 0) {
+						start++;
+						break;
+					}
+				}
+			}
+			while (start < text.length() && !Character.isJavaIdentifierStart(text.charAt(start))) {
+				start++;
+			}
+			int end = start;
+			while (end < text.length() && Character.isJavaIdentifierPart(text.charAt(end))) {
+				end++;
+			}
+			return start == end ? null : new int[] { start, end };
+		}
+		int end = text.indexOf('<');
+		end = end < 0 ? text.length() : end;
+		while (end > 0 && !Character.isJavaIdentifierPart(text.charAt(end - 1))) {
+			end--;
+		}
+		int start = end;
+		while (start > 0 && Character.isJavaIdentifierPart(text.charAt(start - 1))) {
+			start--;
+		}
+		return start == end ? null : new int[] { start, end };
+	}
+
+	private static Map<ICompilationUnit, List<Location>> search(IJavaElement element, IJavaSearchScope scope, IProgressMonitor monitor) throws CoreException {
+		SearchPattern pattern = SearchPattern.createPattern(element, IJavaSearchConstants.REFERENCES);
+		Map<ICompilationUnit, List<Location>> result = new LinkedHashMap<>();
+		SearchEngine engine = new SearchEngine();
+		engine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, scope, new SearchRequestor() {
+
+			@Override
+			public void acceptSearchMatch(SearchMatch match) throws CoreException {
+				Object o = match.getElement();
+				if (o instanceof IJavaElement) {
+					ICompilationUnit compilationUnit = (ICompilationUnit) ((IJavaElement) o).getAncestor(IJavaElement.COMPILATION_UNIT);
+					if (compilationUnit == null) {
+						return;
+					}
+					Location location = JDTUtils.toLocation(compilationUnit, match.getOffset(), match.getLength());
+					result.computeIfAbsent(compilationUnit.getPrimary(), k -> new ArrayList<>()).add(location);
+				}
+			}
+		}, monitor);
+		return result;
+	}
+
+	private void elementChanged(ElementChangedEvent event) {
+		Set<ICompilationUnit> changedUnits = new HashSet<>();
+		boolean bodiesOnly = collectChangedUnits(event.getDelta(), changedUnits);
+		synchronized (this) {
+			if (!bodiesOnly) {
+				clear();
+			} else if (!changedUnits.isEmpty()) {
+				for (References references : cache.values()) {
+					references.dirtyUnits.addAll(changedUnits);
+				}
+				for (Set<ICompilationUnit> searchChangedUnits : runningSearches) {
+					searchChangedUnits.addAll(changedUnits);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Collects the compilation units whose bodies changed.
+	 *
+	 * @return <code>false</code> if the delta has other changes
+	 */
+	private static boolean collectChangedUnits(IJavaElementDelta delta, Collection<ICompilationUnit> units) {
+		IJavaElement element = delta.getElement();
+		if (delta.getKind() != IJavaElementDelta.CHANGED) {
+			return false;
+		}
+		if (element.getElementType() == IJavaElement.COMPILATION_UNIT) {
+			int flags = delta.getFlags();
+			// coarse grained content changes don't tell what changed in the unit
+			if ((flags & ~COMPILATION_UNIT_FLAGS) != 0 || (flags & IJavaElementDelta.F_CONTENT) != 0 && (flags & IJavaElementDelta.F_FINE_GRAINED) == 0) {
+				return false;
+			}
+			for (IJavaElementDelta child : delta.getAffectedChildren()) {
+				if (!isBodyChange(child)) {
+					return false;
+				}
+			}
+			units.add(((ICompilationUnit) element).getPrimary());
+			return true;
+		}
+		// content changes of containers are about their non Java resources
+		if (element.getElementType() == IJavaElement.CLASS_FILE || (delta.getFlags() & ~(IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_CONTENT)) != 0) {
+			return false;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (!collectChangedUnits(child, units)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return whether the delta only changes the bodies of members, or the
+	 *         imports of their compilation unit
+	 */
+	private static boolean isBodyChange(IJavaElementDelta delta) {
+		int type = delta.getElement().getElementType();
+		if (type == IJavaElement.IMPORT_CONTAINER || type == IJavaElement.IMPORT_DECLARATION) {
+			return true;
+		}
+		if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & ~CONTENT_FLAGS) != 0) {
+			return false;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (!isBodyChange(child)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static class References {
+
+		/**
+		 * Reference locations, by referencing compilation unit
+		 */
+		final Map<ICompilationUnit, List<Location>> locations;
+
+		/**
+		 * Compilation units whose references must be searched again
+		 */
+		final Set<ICompilationUnit> dirtyUnits = new HashSet<>();
+
+		References(Map<ICompilationUnit, List<Location>> locations) {
+			this.locations = locations;
+		}
+
+		List<Location> getLocations() {
+			List<Location> result = new ArrayList<>();
+			for (List<Location> unitLocations : locations.values()) {
+				result.addAll(unitLocations);
+			}
+			return result;
+		}
+	}
+}
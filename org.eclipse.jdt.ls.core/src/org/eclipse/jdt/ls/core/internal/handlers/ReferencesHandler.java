@@ -10,18 +10,16 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.handlers;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.IClassFile;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
-import org.eclipse.jdt.core.IJavaProject;
-import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.search.IJavaSearchConstants;
 import org.eclipse.jdt.core.search.IJavaSearchScope;
@@ -31,16 +29,28 @@ import org.eclipse.jdt.core.search.SearchParticipant;
 import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.search.SearchRequestor;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
+import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.RequestTracker;
+import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.ReferenceParams;
 
 public class ReferencesHandler {
 
+	private final PreferenceManager preferenceManager;
+	private final JavaClientConnection connection;
+	private final String requestId;
 
-	private IJavaSearchScope createSearchScope() throws JavaModelException {
-		IJavaProject[] projects = JavaCore.create(ResourcesPlugin.getWorkspace().getRoot()).getJavaProjects();
-		return SearchEngine.createJavaSearchScope(projects, IJavaSearchScope.SOURCES | IJavaSearchScope.APPLICATION_LIBRARIES);
+	public ReferencesHandler(PreferenceManager preferenceManager, JavaClientConnection connection) {
+		this.preferenceManager = preferenceManager;
+		this.connection = connection;
+		// the request is processed asynchronously
+		this.requestId = RequestTracker.getCurrentRequestId();
+	}
+
+	private IJavaSearchScope createSearchScope(IJavaElement element) throws JavaModelException {
+		return ReferenceSearchScopeFactory.create(element, IJavaSearchScope.SOURCES | IJavaSearchScope.APPLICATION_LIBRARIES);
 	}
 
 	List<Location> findReferences(ReferenceParams param) {
@@ -55,37 +65,44 @@ public class ReferencesHandler {
 				return Collections.emptyList();
 
 			SearchPattern pattern = SearchPattern.createPattern(elementToSearch, IJavaSearchConstants.REFERENCES);
-			List<Location> locations = new ArrayList<>();
-			engine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() },
-					createSearchScope(), new SearchRequestor() {
-
-				@Override
-				public void acceptSearchMatch(SearchMatch match) throws CoreException {
-					Object o = match.getElement();
-					if (o instanceof IJavaElement) {
-						IJavaElement element = (IJavaElement) o;
-						ICompilationUnit compilationUnit = (ICompilationUnit) element
-								.getAncestor(IJavaElement.COMPILATION_UNIT);
-						Location location = null;
-						if (compilationUnit != null) {
-							location = JDTUtils.toLocation(compilationUnit, match.getOffset(),
-									match.getLength());
-						}
-						else{
-							IClassFile cf = (IClassFile) element.getAncestor(IJavaElement.CLASS_FILE);
-							if (cf != null && cf.getSourceRange() != null) {
-								location = JDTUtils.toLocation(cf, match.getOffset(), match.getLength());
+			PartialResultCollector<Location> locations = PartialResultCollector.create(preferenceManager, connection, requestId, "textDocument/references", param);
+			IProgressMonitor monitor = new NullProgressMonitor();
+			try {
+				engine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() },
+						createSearchScope(elementToSearch), new SearchRequestor() {
+
+					@Override
+					public void acceptSearchMatch(SearchMatch match) throws CoreException {
+						Object o = match.getElement();
+						if (o instanceof IJavaElement) {
+							IJavaElement element = (IJavaElement) o;
+							ICompilationUnit compilationUnit = (ICompilationUnit) element
+									.getAncestor(IJavaElement.COMPILATION_UNIT);
+							Location location = null;
+							if (compilationUnit != null) {
+								location = JDTUtils.toLocation(compilationUnit, match.getOffset(),
+										match.getLength());
+							}
+							else{
+								IClassFile cf = (IClassFile) element.getAncestor(IJavaElement.CLASS_FILE);
+								if (cf != null && cf.getSourceRange() != null) {
+									location = JDTUtils.toLocation(cf, match.getOffset(), match.getLength());
+								}
 							}
+							if (location != null && !locations.add(location)) {
+								// enough references found
+								monitor.setCanceled(true);
+							}
+
 						}
-						if (location != null )
-							locations.add(location);
 
 					}
+				}, monitor);
+			} catch (OperationCanceledException e) {
+				// stopped early, return the references found so far
+			}
 
-				}
-			}, new NullProgressMonitor());
-
-			return locations;
+			return locations.getResults();
 		} catch (CoreException e) {
 			JavaLanguageServerPlugin.logException("Find references failure ", e);
 		}
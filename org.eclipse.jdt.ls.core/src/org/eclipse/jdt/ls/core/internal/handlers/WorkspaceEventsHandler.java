@@ -17,6 +17,9 @@ import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
 import org.eclipse.jdt.ls.core.internal.SharedASTProvider;
+import org.eclipse.jdt.ls.core.internal.hover.HoverCache;
+import org.eclipse.jdt.ls.core.internal.hover.JavaElementLabelComposer;
+import org.eclipse.jdt.ls.core.internal.javadoc.JavadocCache;
 import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager;
 import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager.CHANGE_TYPE;
 import org.eclipse.lsp4j.DidChangeWatchedFilesParams;
@@ -60,8 +63,14 @@ public class WorkspaceEventsHandler {
 			}
 			if(changeType == CHANGE_TYPE.DELETED || changeType == CHANGE_TYPE.CHANGED){
 				SharedASTProvider.getInstance().invalidate(unit);
+				JavadocCache.getInstance().invalidate(unit);
 			}
 			pm.fileChanged(fileEvent.getUri(), changeType);
+			if(changeType == CHANGE_TYPE.DELETED || changeType == CHANGE_TYPE.CHANGED){
+				// once the file is refreshed, so hovers and labels computed meanwhile aren't kept
+				HoverCache.getInstance().invalidate(unit);
+				JavaElementLabelComposer.invalidateLabels(unit);
+			}
 		}
 	}
 
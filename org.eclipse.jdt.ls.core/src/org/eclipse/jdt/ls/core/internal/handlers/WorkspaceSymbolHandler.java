@@ -12,10 +12,13 @@ package org.eclipse.jdt.ls.core.internal.handlers;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
@@ -26,38 +29,90 @@ import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.search.TypeNameMatch;
 import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.WorkspaceSymbolIndex;
+import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
+import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.SymbolInformation;
 
+/**
+ * Answers workspace symbol queries. Symbols are ranked, so they are only
+ * returned once all the candidates are known, and aren't streamed like search
+ * results: their number is limited by {@link Preferences#SYMBOLS_MAX_RESULTS_KEY}
+ * alone.
+ */
 public class WorkspaceSymbolHandler{
 
+	/**
+	 * Number of type name matches collected per returned symbol, before
+	 * stopping the search engine, to select the most relevant ones
+	 */
+	private static final int CANDIDATES_PER_RESULT = 4;
+
+	private static final Comparator<TypeNameMatch> NAME_LENGTH_ORDER = Comparator.<TypeNameMatch> comparingInt(m -> m.getSimpleTypeName().length())
+			.thenComparing(TypeNameMatch::getSimpleTypeName)
+			.thenComparing(TypeNameMatch::getTypeContainerName);
+
+	private final PreferenceManager preferenceManager;
+
+	public WorkspaceSymbolHandler(PreferenceManager preferenceManager) {
+		this.preferenceManager = preferenceManager;
+	}
+
 	List<SymbolInformation> search(String query) {
+		int maxResults = getMaxResults();
+		WorkspaceSymbolIndex index = WorkspaceSymbolIndex.getInstance();
+		index.initialize();
+		if (index.isReady()) {
+			return index.search(query, maxResults, new NullProgressMonitor());
+		}
+		// the index is being built, only search types, with the search engine indexes available now
+		List<TypeNameMatch> matches = new ArrayList<>();
+		int maxMatches = maxResults > Integer.MAX_VALUE / CANDIDATES_PER_RESULT ? Integer.MAX_VALUE : maxResults * CANDIDATES_PER_RESULT;
+		IProgressMonitor monitor = new NullProgressMonitor();
 		try {
-			ArrayList<SymbolInformation> symbols = new ArrayList<>();
-
+			// don't wait for the indexer, busy while the workspace is imported: partial results now beat late ones
 			new SearchEngine().searchAllTypeNames(null,SearchPattern.R_PATTERN_MATCH, query.toCharArray(), SearchPattern.R_PREFIX_MATCH,IJavaSearchConstants.TYPE, createSearchScope(),new TypeNameMatchRequestor() {
 
 				@Override
 				public void acceptTypeNameMatch(TypeNameMatch match) {
-					SymbolInformation symbolInformation = new SymbolInformation();
-					symbolInformation.setContainerName(match.getTypeContainerName());
-					symbolInformation.setName(match.getSimpleTypeName());
-					symbolInformation.setKind(DocumentSymbolHandler.mapKind(match.getType()));
-					Location location = new Location();
-					location.setUri(match.getType().getResource().getLocationURI().toString());
-					location.setRange(new Range(new Position(0,0), new Position(0, 0)));
-					symbolInformation.setLocation(location);
-					symbols.add(symbolInformation);
+					matches.add(match);
+					if (matches.size() >= maxMatches) {
+						// enough candidates
+						monitor.setCanceled(true);
+					}
 				}
-			}, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, new NullProgressMonitor());
-
-			return symbols;
+			}, IJavaSearchConstants.FORCE_IMMEDIATE_SEARCH, monitor);
+		} catch (OperationCanceledException e) {
+			// stopped early, select among the matches found so far
 		} catch (JavaModelException e) {
 			JavaLanguageServerPlugin.logException("Problem getting search for" +  query, e);
+			return Collections.emptyList();
+		}
+
+		// exact matches, then case sensitive prefix matches, then shortest names
+		Collections.sort(matches, Comparator.<TypeNameMatch> comparingInt(m -> m.getSimpleTypeName().equals(query) ? 0 : m.getSimpleTypeName().startsWith(query) ? 1 : 2).thenComparing(NAME_LENGTH_ORDER));
+		List<SymbolInformation> symbols = new ArrayList<>();
+		for (TypeNameMatch match : matches.subList(0, Math.min(maxResults, matches.size()))) {
+			SymbolInformation symbolInformation = new SymbolInformation();
+			symbolInformation.setContainerName(match.getTypeContainerName());
+			symbolInformation.setName(match.getSimpleTypeName());
+			symbolInformation.setKind(DocumentSymbolHandler.mapKind(match.getType()));
+			Location location = new Location();
+			location.setUri(match.getType().getResource().getLocationURI().toString());
+			location.setRange(new Range(new Position(0,0), new Position(0, 0)));
+			symbolInformation.setLocation(location);
+			symbols.add(symbolInformation);
 		}
-		return Collections.emptyList();
+		return symbols;
+	}
+
+	private int getMaxResults() {
+		Preferences preferences = preferenceManager == null ? null : preferenceManager.getPreferences();
+		int maxResults = preferences == null ? Preferences.DEFAULT_SYMBOLS_MAX_RESULTS : preferences.getSymbolsMaxResults();
+		return maxResults > 0 ? maxResults : Integer.MAX_VALUE;
 	}
 
 	private IJavaSearchScope createSearchScope() throws JavaModelException {
@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.hover;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * Cache of the last hovers computed in the most recently hovered documents.
+ *
+ * Hovers of a document are keyed by the range and content of the hovered
+ * identifier, so hovering again over the same token doesn't select nor
+ * render anything. As hovers also depend on other documents, all the entries
+ * must be {@link #invalidate(ITypeRoot) invalidated} when a document changes,
+ * once the change is applied. Hovers computed while an invalidation happens
+ * are not cached, as they might reflect the document before its change.
+ */
+public class HoverCache {
+
+	private static final int MAX_DOCUMENTS = 20;
+	private static final int MAX_HOVERS_PER_DOCUMENT = 50;
+
+	private static HoverCache instance = new HoverCache();
+
+	private final Map<String, Map<String, String>> cache = new LRUMap<>(MAX_DOCUMENTS);
+
+	/**
+	 * Number of invalidations, guarded by the cache.
+	 */
+	private long generation;
+
+	private HoverCache() {
+	}
+
+	public static HoverCache getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Returns the hover of the identifier at the given offset, computing it on
+	 * cache misses. Hovers outside of identifiers are not cached.
+	 *
+	 * @param unit
+	 *            the hovered document
+	 * @param offset
+	 *            the hovered offset
+	 * @param hover
+	 *            computes the hover
+	 * @return the hover, might be <code>null</code>
+	 */
+	public String getHover(ITypeRoot unit, int offset, Supplier<String> hover) {
+		String key = getIdentifierKey(unit, offset);
+		if (key == null) {
+			return hover.get();
+		}
+		String documentKey = getDocumentKey(unit);
+		long computedGeneration;
+		synchronized (cache) {
+			Map<String, String> hovers = cache.get(documentKey);
+			if (hovers != null && hovers.containsKey(key)) {
+				return hovers.get(key);
+			}
+			computedGeneration = generation;
+		}
+		String content = hover.get();
+		synchronized (cache) {
+			if (computedGeneration == generation) {
+				cache.computeIfAbsent(documentKey, k -> new LRUMap<>(MAX_HOVERS_PER_DOCUMENT)).put(key, content);
+			}
+		}
+		return content;
+	}
+
+	/**
+	 * Notifies the cache that the given document changed.
+	 */
+	public void invalidate(ITypeRoot unit) {
+		// the hovers of any document might show elements declared in the changed one
+		clear();
+	}
+
+	public void clear() {
+		synchronized (cache) {
+			generation++;
+			cache.clear();
+		}
+	}
+
+	private static String getDocumentKey(ITypeRoot unit) {
+		String handle = unit.getHandleIdentifier();
+		IResource resource = unit.getResource();
+		return resource == null ? handle : handle + '@' + resource.getModificationStamp();
+	}
+
+	/**
+	 * @return the range and content of the identifier at the given offset, or
+	 *         <code>null</code> if there is none
+	 */
+	private static String getIdentifierKey(ITypeRoot unit, int offset) {
+		IBuffer buffer;
+		try {
+			buffer = unit.getBuffer();
+		} catch (JavaModelException e) {
+			return null;
+		}
+		if (buffer == null || offset < 0 || offset > buffer.getLength()) {
+			return null;
+		}
+		int start = offset;
+		while (start > 0 && Character.isJavaIdentifierPart(buffer.getChar(start - 1))) {
+			start--;
+		}
+		int end = offset;
+		while (end < buffer.getLength() && Character.isJavaIdentifierPart(buffer.getChar(end))) {
+			end++;
+		}
+		if (start == end) {
+			return null;
+		}
+		return start + ":" + buffer.getText(start, end - start);
+	}
+
+	private static class LRUMap<K, V> extends LinkedHashMap<K, V> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int maxEntries;
+
+		LRUMap(int maxEntries) {
+			super(16, 0.75f, true);
+			this.maxEntries = maxEntries;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+			return size() > maxEntries;
+		}
+	}
+}
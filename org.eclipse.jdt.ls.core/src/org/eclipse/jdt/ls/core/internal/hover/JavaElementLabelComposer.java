@@ -10,6 +10,9 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.hover;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.jar.Attributes.Name;
 
 import org.eclipse.core.resources.IProject;
@@ -33,6 +36,7 @@ import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.ISourceRange;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeParameter;
+import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.Signature;
 import org.eclipse.jdt.core.SourceRange;
@@ -117,6 +121,24 @@ public class JavaElementLabelComposer {
 	private static int fgPkgNameChars;
 	private static int fgPkgNameLength= -1;
 
+	/*
+	 * Label cache
+	 */
+	private static final int MAX_CACHED_LABELS= 2000;
+	private static final Map<String, String> fgLabelCache= new LinkedHashMap<String, String>(16, 0.75f, true) {
+
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+			return size() > MAX_CACHED_LABELS;
+		}
+	};
+	/*
+	 * Number of label invalidations, guarded by the label cache
+	 */
+	private static long fgLabelGeneration;
+
 	protected final FlexibleBuilder fBuilder;
 
 	protected static final boolean getFlag(long flags, long flag) {
@@ -141,6 +163,100 @@ public class JavaElementLabelComposer {
 		this(new FlexibleStringBuilder(builder));
 	}
 
+	/**
+	 * Appends the label for a Java element with the flags as defined by this class,
+	 * reusing the label last computed for the same element and flags.
+	 *
+	 * Labels of binary elements are cached by handle, labels of source elements also
+	 * by modification stamp of their resource. Labels of elements declared in a
+	 * compilation unit being edited must be {@link #invalidateLabels(ITypeRoot) invalidated},
+	 * once the change is applied. Labels computed while an invalidation happens are not
+	 * cached, as they might reflect the unit before its change.
+	 *
+	 * @param element the element to render
+	 * @param flags the rendering flags.
+	 */
+	public void appendCachedElementLabel(IJavaElement element, long flags) {
+		String key= getLabelCacheKey(element, flags);
+		String label;
+		long generation;
+		synchronized (fgLabelCache) {
+			label= fgLabelCache.get(key);
+			generation= fgLabelGeneration;
+		}
+		if (label == null) {
+			StringBuilder builder= new StringBuilder();
+			new JavaElementLabelComposer(builder).appendElementLabel(element, flags);
+			label= builder.toString();
+			synchronized (fgLabelCache) {
+				if (generation == fgLabelGeneration) {
+					fgLabelCache.put(key, label);
+				}
+			}
+		}
+		fBuilder.append(label);
+	}
+
+	/**
+	 * Removes the cached labels of all the elements declared in the given type root.
+	 *
+	 * @param root the type root
+	 */
+	public static void invalidateLabels(ITypeRoot root) {
+		if (root == null) {
+			return;
+		}
+		String prefix= root.getHandleIdentifier();
+		synchronized (fgLabelCache) {
+			fgLabelGeneration++;
+			for (Iterator<String> keys= fgLabelCache.keySet().iterator(); keys.hasNext();) {
+				if (keys.next().startsWith(prefix)) {
+					keys.remove();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes all the cached labels.
+	 */
+	public static void clearLabels() {
+		synchronized (fgLabelCache) {
+			fgLabelGeneration++;
+			fgLabelCache.clear();
+		}
+	}
+
+	private static String getLabelCacheKey(IJavaElement element, long flags) {
+		StringBuilder key= new StringBuilder(element.getHandleIdentifier());
+		// resolved elements share the handle of their declaration
+		String bindingKey= null;
+		if (element instanceof IType && ((IType) element).isResolved()) {
+			bindingKey= ((IType) element).getKey();
+		} else if (element instanceof IMethod && ((IMethod) element).isResolved()) {
+			bindingKey= ((IMethod) element).getKey();
+		} else if (element instanceof IField && ((IField) element).isResolved()) {
+			bindingKey= ((IField) element).getKey();
+		}
+		if (bindingKey != null) {
+			key.append('#').append(bindingKey);
+		}
+		if (!isBinary(element)) {
+			IResource resource= element.getResource();
+			key.append('@').append(resource == null ? IResource.NULL_STAMP : resource.getModificationStamp());
+		}
+		return key.append('|').append(flags).toString();
+	}
+
+	private static boolean isBinary(IJavaElement element) {
+		IPackageFragmentRoot root= (IPackageFragmentRoot) element.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+		try {
+			return root != null && root.getKind() == IPackageFragmentRoot.K_BINARY;
+		} catch (JavaModelException e) {
+			return false;
+		}
+	}
+
 	/**
 	 * Appends the label for a Java element with the flags as defined by this class.
 	 *
@@ -349,6 +349,7 @@ public class JavaElementLabels {
 
 	/**
 	 * Returns the label for a Java element with the flags as defined by this class.
+	 * Labels are cached, see {@link JavaElementLabelComposer#appendCachedElementLabel(IJavaElement, long)}.
 	 *
 	 * @param element the element to render
 	 * @param flags the rendering flags
@@ -356,7 +357,7 @@ public class JavaElementLabels {
 	 */
 	public static String getElementLabel(IJavaElement element, long flags) {
 		StringBuilder result= new StringBuilder();
-		getElementLabel(element, flags, result);
+		new JavaElementLabelComposer(result).appendCachedElementLabel(element, flags);
 		return org.eclipse.jdt.internal.core.manipulation.util.Strings.markJavaElementLabelLTR(result.toString());
 	}
 
@@ -25,18 +25,23 @@ import com.overzealous.remark.Remark;
  */
 public class JavaDoc2MarkdownConverter {
 
-	private static Remark remark;
+	private static final Options options;
+
+	/**
+	 * Remark keeps conversion state in its instances, which can't be shared
+	 * between threads: hover and completion resolve run concurrently.
+	 */
+	private static final ThreadLocal<Remark> remark = ThreadLocal.withInitial(() -> new Remark(options));
 
 	private String markDown;
 
 	static {
-		Options options = new Options();
+		options = new Options();
 		options.tables = Tables.CONVERT_TO_CODE_BLOCK;
 		options.hardwraps = true;
 		options.inlineLinks = true;
 		options.autoLinks = true;
 		options.reverseHtmlSmartPunctuation = true;
-		remark = new Remark(options);
 	}
 
 	private JavaDoc2HTMLTextReader reader;
@@ -62,12 +67,25 @@ public class JavaDoc2MarkdownConverter {
 
 	public String getAsString() throws IOException {
 		if (!read && reader != null) {
-			String rawHtml = reader.getString();
-			markDown = remark.convert(rawHtml);
+			// most Javadoc only uses a handful of tags, which don't require Remark's DOM
+			StreamingMarkdownConverter converter = new StreamingMarkdownConverter(reader);
+			markDown = converter.convert();
+			if (markDown == null) {
+				markDown = convertWithRemark(converter.getHtml());
+			}
+			read = true;
 		}
 		return markDown;
 	}
 
+	/**
+	 * @return the Markdown conversion of the HTML by Remark, the reference
+	 *         output of the single pass conversion
+	 */
+	public static String convertWithRemark(String html) {
+		return remark.get().convert(html);
+	}
+
 	public Reader getAsReader() throws IOException {
 		String m = getAsString();
 		return m == null ? null : new StringReader(m);
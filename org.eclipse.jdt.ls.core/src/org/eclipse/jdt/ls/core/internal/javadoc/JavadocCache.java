@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.javadoc;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+
+import com.google.common.io.CharStreams;
+
+/**
+ * Bounded cache of the rendered Javadoc of members and package fragments, as
+ * returned by {@link JavadocContentAccess}.
+ *
+ * Entries of binary elements are keyed by handle identifier only, entries of
+ * source elements also include the modification stamp of their resource.
+ * Entries of compilation units being edited must be {@link #invalidate(ITypeRoot) invalidated},
+ * which also drops the entries of source members that may inherit their
+ * Javadoc from the edited compilation unit.
+ */
+public class JavadocCache {
+
+	private static final int MAX_ENTRIES = 1000;
+
+	private static JavadocCache instance = new JavadocCache();
+
+	/**
+	 * Keys of the source members cached with inherited Javadoc allowed, whose
+	 * content may come from another compilation unit.
+	 */
+	private final Set<String> inheritingSourceKeys = new HashSet<>();
+
+	private final Map<String, String> cache = new LinkedHashMap<String, String>(16, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+			if (size() > MAX_ENTRIES) {
+				inheritingSourceKeys.remove(eldest.getKey());
+				return true;
+			}
+			return false;
+		}
+	};
+
+	private JavadocCache() {
+	}
+
+	public static JavadocCache getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Returns the rendered Javadoc of a member, computing it with
+	 * {@link JavadocContentAccess#getHTMLContentReader(IMember, boolean, boolean)} on cache misses.
+	 *
+	 * @return the rendered Javadoc, or <code>null</code> if the member has none
+	 * @throws JavaModelException is thrown when the elements Javadoc can not be accessed
+	 */
+	public String getHTMLContent(IMember member, boolean allowInherited, boolean useAttachedJavadoc) throws JavaModelException {
+		String key = getKey(member, member.isBinary()) + '|' + allowInherited + '|' + useAttachedJavadoc;
+		synchronized (cache) {
+			if (cache.containsKey(key)) {
+				return cache.get(key);
+			}
+		}
+		String content;
+		try {
+			content = toString(JavadocContentAccess.getHTMLContentReader(member, allowInherited, useAttachedJavadoc));
+		} catch (IOException e) {
+			JavaLanguageServerPlugin.logException("Unable to read the Javadoc of " + member.getElementName(), e);
+			return null;
+		}
+		synchronized (cache) {
+			cache.put(key, content);
+			if (allowInherited && !member.isBinary()) {
+				inheritingSourceKeys.add(key);
+			}
+		}
+		return content;
+	}
+
+	/**
+	 * Returns the rendered Javadoc of a package fragment. Only the Javadoc of
+	 * binary package fragments is cached.
+	 *
+	 * @return the rendered Javadoc, or <code>null</code> if the package fragment has none
+	 * @throws JavaModelException is thrown when the package fragment's Javadoc can not be accessed
+	 */
+	public String getHTMLContent(IPackageFragment fragment, boolean useAttachedJavadoc) throws JavaModelException {
+		IPackageFragmentRoot root = (IPackageFragmentRoot) fragment.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+		String key = getKey(fragment, true) + '|' + useAttachedJavadoc;
+		boolean binary = root != null && root.getKind() == IPackageFragmentRoot.K_BINARY;
+		if (binary) {
+			synchronized (cache) {
+				if (cache.containsKey(key)) {
+					return cache.get(key);
+				}
+			}
+		}
+		String content;
+		try {
+			content = toString(JavadocContentAccess.getHTMLContentReader(fragment, useAttachedJavadoc));
+		} catch (IOException e) {
+			JavaLanguageServerPlugin.logException("Unable to read the Javadoc of " + fragment.getElementName(), e);
+			return null;
+		}
+		if (!binary) {
+			return content;
+		}
+		synchronized (cache) {
+			cache.put(key, content);
+		}
+		return content;
+	}
+
+	/**
+	 * Removes the entries of all the elements declared in the given type root.
+	 */
+	public void invalidate(ITypeRoot root) {
+		if (root == null) {
+			return;
+		}
+		String prefix = root.getHandleIdentifier();
+		synchronized (cache) {
+			for (Iterator<String> keys = cache.keySet().iterator(); keys.hasNext();) {
+				String key = keys.next();
+				// the Javadoc of the root may be inherited by source members of other compilation units
+				if (key.startsWith(prefix) || inheritingSourceKeys.contains(key)) {
+					keys.remove();
+				}
+			}
+			inheritingSourceKeys.clear();
+		}
+	}
+
+	public void clear() {
+		synchronized (cache) {
+			cache.clear();
+			inheritingSourceKeys.clear();
+		}
+	}
+
+	private static String getKey(IJavaElement element, boolean binary) {
+		String handle = element.getHandleIdentifier();
+		if (binary) {
+			return handle;
+		}
+		IResource resource = element.getResource();
+		return handle + '@' + (resource == null ? IResource.NULL_STAMP : resource.getModificationStamp());
+	}
+
+	private static String toString(Reader reader) throws IOException {
+		return reader == null ? null : CharStreams.toString(reader);
+	}
+}
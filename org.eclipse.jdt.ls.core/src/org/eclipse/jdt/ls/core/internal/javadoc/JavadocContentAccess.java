@@ -215,7 +215,7 @@ public class JavadocContentAccess {
 		}
 
 		if (useAttachedJavadoc && member.getOpenable().getBuffer() == null) { // only if no source available
-			String s= member.getAttachedJavadoc(null);
+			String s= JavadocIndex.getInstance().getAttachedJavadoc(member);
 			if (s != null)
 				return new StringReader(s);
 		}
@@ -0,0 +1,388 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.javadoc;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaModelStatusConstants;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+
+/**
+ * Persistent index of the attached Javadoc of binary members, rendered as
+ * Markdown.
+ *
+ * The Javadoc of the members of an archive is stored in the plug-in state
+ * area, in a file named after the archive path, size and modification time,
+ * and the server version, so it survives server restarts, and a rebuilt
+ * archive or a newer Markdown converter gets a fresh index. The index of an
+ * archive is filled as its members are looked up, and written back to disk by
+ * a background job, which also deletes the indexes unused for
+ * {@link #MAX_UNUSED_DAYS} days. Only the {@link #MAX_LOADED_INDEXES} most
+ * recently used indexes are kept in memory.
+ */
+public class JavadocIndex {
+
+	/**
+	 * Number of days after which an unused index file is deleted.
+	 */
+	public static final int MAX_UNUSED_DAYS = 30;
+
+	/**
+	 * Number of archive indexes kept in memory, the least recently used ones
+	 * are saved and unloaded.
+	 */
+	public static final int MAX_LOADED_INDEXES = 16;
+
+	private static final String INDEX_FOLDER = "javadoc-index";
+	private static final String INDEX_FILE_EXTENSION = ".properties";
+	private static final String TEMP_FILE_EXTENSION = ".tmp";
+	private static final long SAVE_DELAY = 5000L;
+
+	private static JavadocIndex instance = new JavadocIndex();
+
+	/**
+	 * Archive indexes, by index name, in access order. Guarded by itself.
+	 */
+	private final LinkedHashMap<String, ArchiveIndex> indexes = new LinkedHashMap<>(MAX_LOADED_INDEXES, 0.75f, true);
+
+	private volatile boolean unusedIndexesDeleted;
+
+	private final Job saveJob = new Job("Save Javadoc index") {
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			save();
+			if (!unusedIndexesDeleted) {
+				unusedIndexesDeleted = true;
+				deleteUnusedIndexes(TimeUnit.DAYS.toMillis(MAX_UNUSED_DAYS));
+			}
+			return Status.OK_STATUS;
+		}
+	};
+
+	/**
+	 * Provides the Javadoc of a member missing from the index.
+	 */
+	public interface JavadocProvider {
+		/**
+		 * @return the Markdown Javadoc or <code>null</code> if there is none
+		 * @throws JavaModelException
+		 *             if the Javadoc can not be retrieved
+		 */
+		String getJavadoc() throws JavaModelException;
+	}
+
+	private JavadocIndex() {
+		saveJob.setSystem(true);
+	}
+
+	public static JavadocIndex getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Returns the attached Javadoc of a binary member, rendered as Markdown.
+	 * The Javadoc of members of archives is read from, and added to, the index.
+	 *
+	 * @param member
+	 *            the binary member
+	 * @return the Markdown Javadoc or <code>null</code> if the member has none
+	 * @throws JavaModelException
+	 *             if the attached Javadoc can not be retrieved
+	 */
+	public String getAttachedJavadoc(IMember member) throws JavaModelException {
+		IPackageFragmentRoot root = (IPackageFragmentRoot) member.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+		File archive = root == null || !root.isArchive() ? null : getArchive(root);
+		if (archive == null) {
+			return render(member.getAttachedJavadoc(null));
+		}
+		// handle identifiers start with the project and the root, which don't matter within the archive
+		String key = member.getHandleIdentifier().substring(root.getHandleIdentifier().length());
+		return getJavadoc(archive, key, () -> render(member.getAttachedJavadoc(null)));
+	}
+
+	/**
+	 * Returns the Javadoc of a member of an archive, from the index of the
+	 * archive or from the given provider when missing from the index.
+	 *
+	 * @param archive
+	 *            the archive declaring the member
+	 * @param key
+	 *            the key of the member within the archive
+	 * @param provider
+	 *            provides the Javadoc missing from the index
+	 * @return the Markdown Javadoc or <code>null</code> if the member has none
+	 * @throws JavaModelException
+	 *             if the Javadoc can not be retrieved
+	 */
+	public String getJavadoc(File archive, String key, JavadocProvider provider) throws JavaModelException {
+		String name = getIndexName(archive);
+		if (name == null) {
+			return provider.getJavadoc();
+		}
+		ArchiveIndex index = getIndex(name);
+		String javadoc = index.entries.get(key);
+		if (javadoc == null) {
+			javadoc = provider.getJavadoc();
+			if (javadoc == null) {
+				// not persisted, Javadoc might be attached later
+				return null;
+			}
+			index.entries.put(key, javadoc);
+			index.dirty = true;
+			saveJob.schedule(SAVE_DELAY);
+		}
+		return javadoc;
+	}
+
+	/**
+	 * @return the loaded index of the given name, loading it if needed, and
+	 *         unloading the least recently used index if too many are loaded
+	 */
+	private ArchiveIndex getIndex(String name) {
+		ArchiveIndex index;
+		ArchiveIndex unloaded = null;
+		synchronized (indexes) {
+			index = indexes.get(name);
+			if (index == null) {
+				index = load(name);
+				indexes.put(name, index);
+				if (indexes.size() > MAX_LOADED_INDEXES) {
+					Iterator<ArchiveIndex> eldest = indexes.values().iterator();
+					unloaded = eldest.next();
+					eldest.remove();
+				}
+			}
+		}
+		// written outside of the lock of the indexes, which save() acquires after its own
+		if (unloaded != null) {
+			save(unloaded);
+		}
+		return index;
+	}
+
+	private static File getArchive(IPackageFragmentRoot root) {
+		IResource resource = root.getResource();
+		IPath path = resource == null ? root.getPath() : resource.getLocation();
+		if (path == null) {
+			return null;
+		}
+		File archive = path.toFile();
+		return archive.isFile() ? archive : null;
+	}
+
+	/**
+	 * @return the name of the index of the archive, derived from its path,
+	 *         size and modification time, and from the server version, so
+	 *         computing it doesn't require reading the archive
+	 */
+	private static String getIndexName(File archive) {
+		String identity = archive.getAbsolutePath() + '|' + archive.length() + '|' + archive.lastModified() + '|' + JavaLanguageServerPlugin.getVersion();
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-1");
+			StringBuilder hex = new StringBuilder();
+			for (byte b : digest.digest(identity.getBytes(StandardCharsets.UTF_8))) {
+				hex.append(String.format("%02x", b));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException e) {
+			JavaLanguageServerPlugin.logException("Unable to name the Javadoc index of " + archive, e);
+			return null;
+		}
+	}
+
+	private ArchiveIndex load(String name) {
+		ArchiveIndex index = new ArchiveIndex(name);
+		File file = getIndexFile(name);
+		if (file != null && file.isFile()) {
+			Properties properties = new Properties();
+			try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+				properties.load(in);
+				for (String key : properties.stringPropertyNames()) {
+					index.entries.put(key, properties.getProperty(key));
+				}
+			} catch (IOException e) {
+				JavaLanguageServerPlugin.logException("Unable to read the Javadoc index " + file, e);
+			}
+			// mark the index as used
+			file.setLastModified(System.currentTimeMillis());
+		}
+		return index;
+	}
+
+	/**
+	 * Writes the indexes modified since the last save.
+	 */
+	public synchronized void save() {
+		List<ArchiveIndex> loaded;
+		synchronized (indexes) {
+			loaded = new ArrayList<>(indexes.values());
+		}
+		for (ArchiveIndex index : loaded) {
+			save(index);
+		}
+	}
+
+	/**
+	 * Writes the given index if it was modified since it was last saved. The
+	 * index is written to a temporary file first, then moved in place, so
+	 * the index file is never seen half written.
+	 */
+	private synchronized void save(ArchiveIndex index) {
+		if (!index.dirty) {
+			return;
+		}
+		File file = getIndexFile(index.name);
+		if (file == null) {
+			return;
+		}
+		index.dirty = false;
+		Properties properties = new Properties();
+		properties.putAll(index.entries);
+		File folder = file.getParentFile();
+		folder.mkdirs();
+		File temp = null;
+		try {
+			temp = File.createTempFile(index.name, TEMP_FILE_EXTENSION, folder);
+			try (OutputStream out = new BufferedOutputStream(new FileOutputStream(temp))) {
+				properties.store(out, null);
+			}
+			try {
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			JavaLanguageServerPlugin.logException("Unable to write the Javadoc index " + file, e);
+			if (temp != null) {
+				temp.delete();
+			}
+		}
+	}
+
+	/**
+	 * Saves the modified indexes, then forgets all the indexes loaded in
+	 * memory.
+	 */
+	public void clear() {
+		save();
+		synchronized (indexes) {
+			indexes.clear();
+		}
+	}
+
+	/**
+	 * Stops the background save, then saves the modified indexes. Called when
+	 * the server stops.
+	 */
+	public void dispose() {
+		saveJob.cancel();
+		try {
+			saveJob.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		save();
+	}
+
+	/**
+	 * Deletes the index files neither loaded nor written for the given
+	 * duration, like the indexes of archives which were rebuilt or are no
+	 * longer used.
+	 *
+	 * @param maxUnusedTime
+	 *            the time, in milliseconds, after which an unused index is
+	 *            deleted
+	 */
+	public void deleteUnusedIndexes(long maxUnusedTime) {
+		IPath stateLocation = JavaLanguageServerPlugin.getStateLocation();
+		File[] files = stateLocation == null ? null : stateLocation.append(INDEX_FOLDER).toFile().listFiles();
+		if (files == null) {
+			return;
+		}
+		long oldest = System.currentTimeMillis() - maxUnusedTime;
+		for (File file : files) {
+			String name = file.getName();
+			if (file.lastModified() >= oldest) {
+				continue;
+			}
+			if (name.endsWith(TEMP_FILE_EXTENSION)) {
+				// left over by an interrupted save
+				file.delete();
+			} else if (name.endsWith(INDEX_FILE_EXTENSION) && !isLoaded(name.substring(0, name.length() - INDEX_FILE_EXTENSION.length()))) {
+				file.delete();
+			}
+		}
+	}
+
+	private boolean isLoaded(String name) {
+		synchronized (indexes) {
+			return indexes.containsKey(name);
+		}
+	}
+
+	private static File getIndexFile(String name) {
+		IPath stateLocation = JavaLanguageServerPlugin.getStateLocation();
+		return stateLocation == null ? null : stateLocation.append(INDEX_FOLDER).append(name + INDEX_FILE_EXTENSION).toFile();
+	}
+
+	private static String render(String html) throws JavaModelException {
+		if (html == null) {
+			return null;
+		}
+		try {
+			return new JavaDoc2MarkdownConverter(new StringReader(html)).getAsString();
+		} catch (IOException e) {
+			throw new JavaModelException(e, IJavaModelStatusConstants.UNKNOWN_JAVADOC_FORMAT);
+		}
+	}
+
+	private static class ArchiveIndex {
+		private final String name;
+		private final Map<String, String> entries = new ConcurrentHashMap<>();
+		private volatile boolean dirty;
+
+		ArchiveIndex(String name) {
+			this.name = name;
+		}
+	}
+}
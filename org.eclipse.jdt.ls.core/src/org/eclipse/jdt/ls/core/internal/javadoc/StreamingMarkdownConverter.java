@@ -0,0 +1,409 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.javadoc;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Single pass HTML to Markdown converter for the HTML produced by
+ * {@link JavaDoc2HTMLTextReader}, that doesn't build any DOM.
+ *
+ * Only handles paragraphs, line breaks, bold, italic, code, links and
+ * unordered lists. As soon as anything else is met (tables, preformatted
+ * text, characters that would need Markdown escaping...),
+ * {@link #convert()} gives up and returns <code>null</code>: the complete
+ * HTML is then available from {@link #getHtml()}, for a full conversion.
+ */
+public final class StreamingMarkdownConverter {
+
+	private static final int NO_BREAK = 0;
+	private static final int LINE_BREAK = 1;
+	private static final int PARAGRAPH_BREAK = 2;
+	private static final int NESTED_LIST_BREAK = 3;
+
+	private final Reader reader;
+
+	/**
+	 * The HTML read so far
+	 */
+	private final StringBuilder html = new StringBuilder();
+
+	private final StringBuilder markdown = new StringBuilder();
+
+	private int listDepth;
+	private int codeDepth;
+	private int pendingBreak = NO_BREAK;
+	private boolean pendingSpace;
+	private boolean skipSpace;
+	private boolean atLineStart = true;
+	private boolean atItemStart;
+	private boolean lineStartNumber;
+	private String linkHref;
+	private int linkStart;
+	private boolean done;
+
+	public StreamingMarkdownConverter(Reader reader) {
+		this.reader = reader;
+	}
+
+	/**
+	 * @return the Markdown conversion of the HTML, or <code>null</code> if it
+	 *         contains unsupported constructs
+	 * @throws IOException
+	 */
+	public String convert() throws IOException {
+		int c;
+		while ((c = read()) != -1) {
+			boolean supported;
+			if (c == '<') {
+				supported = processTag();
+			} else if (c == '&') {
+				supported = processEntity();
+			} else {
+				supported = appendText((char) c);
+			}
+			if (!supported) {
+				return null;
+			}
+		}
+		done = true;
+		if (listDepth > 0 || codeDepth > 0 || linkHref != null) {
+			return null;
+		}
+		trimTrailingWhitespace();
+		return markdown.toString();
+	}
+
+	/**
+	 * @return the complete HTML content of the reader
+	 * @throws IOException
+	 */
+	public String getHtml() throws IOException {
+		if (!done) {
+			while (read() != -1) {
+				// read remaining content
+			}
+			done = true;
+		}
+		return html.toString();
+	}
+
+	private int read() throws IOException {
+		int c = reader.read();
+		if (c != -1) {
+			html.append((char) c);
+		}
+		return c;
+	}
+
+	private boolean processTag() throws IOException {
+		StringBuilder tag = new StringBuilder();
+		int c;
+		while ((c = read()) != -1 && c != '>') {
+			tag.append((char) c);
+		}
+		if (c == -1 || tag.length() == 0) {
+			return false;
+		}
+		boolean closing = tag.charAt(0) == '/';
+		int nameStart = closing ? 1 : 0;
+		int nameEnd = nameStart;
+		while (nameEnd < tag.length() && Character.isLetterOrDigit(tag.charAt(nameEnd))) {
+			nameEnd++;
+		}
+		if (nameEnd == nameStart) {
+			return false;
+		}
+		String name = tag.substring(nameStart, nameEnd).toLowerCase();
+		switch (name) {
+		case "b":
+		case "strong":
+			appendMarkup("**", closing);
+			return true;
+		case "i":
+		case "em":
+			appendMarkup("*", closing);
+			return true;
+		case "code":
+		case "tt":
+			if (closing) {
+				// code spans are trimmed
+				pendingSpace = false;
+			}
+			appendMarkup("`", closing);
+			codeDepth += closing ? -1 : 1;
+			return codeDepth >= 0;
+		case "br":
+			pendingBreak = Math.max(pendingBreak, LINE_BREAK);
+			pendingSpace = false;
+			return true;
+		case "p":
+			if (listDepth > 0) {
+				return false;
+			}
+			pendingBreak = PARAGRAPH_BREAK;
+			pendingSpace = false;
+			return true;
+		case "a":
+			return closing ? closeLink() : openLink(tag.substring(nameEnd));
+		case "ul":
+			return closing ? closeList() : openList();
+		case "li":
+			return closing || openListItem();
+		default:
+			return false;
+		}
+	}
+
+	private void appendMarkup(String markup, boolean closing) {
+		if (!closing) {
+			flushBreak();
+			flushSpace();
+		}
+		markdown.append(markup);
+		atLineStart = false;
+		atItemStart = false;
+		lineStartNumber = false;
+		skipSpace = !closing;
+	}
+
+	private boolean openLink(String attributes) {
+		if (linkHref != null) {
+			return false;
+		}
+		linkHref = getAttribute(attributes, "href");
+		if (linkHref == null) {
+			return false;
+		}
+		flushBreak();
+		flushSpace();
+		markdown.append('[');
+		atLineStart = false;
+		atItemStart = false;
+		lineStartNumber = false;
+		skipSpace = true;
+		linkStart = markdown.length();
+		return true;
+	}
+
+	private boolean closeLink() {
+		if (linkHref == null) {
+			return false;
+		}
+		String text = markdown.substring(linkStart);
+		if (text.equals(linkHref)) {
+			markdown.setLength(linkStart - 1);
+			markdown.append('<').append(linkHref).append('>');
+		} else {
+			markdown.append("](").append(linkHref).append(')');
+		}
+		linkHref = null;
+		return true;
+	}
+
+	private boolean openList() {
+		if (codeDepth > 0 || linkHref != null) {
+			return false;
+		}
+		if (listDepth == 0) {
+			pendingBreak = PARAGRAPH_BREAK;
+		} else {
+			pendingBreak = NESTED_LIST_BREAK;
+		}
+		pendingSpace = false;
+		listDepth++;
+		return true;
+	}
+
+	private boolean closeList() {
+		if (listDepth == 0) {
+			return false;
+		}
+		listDepth--;
+		pendingBreak = listDepth == 0 ? PARAGRAPH_BREAK : LINE_BREAK;
+		pendingSpace = false;
+		return true;
+	}
+
+	private boolean openListItem() {
+		if (listDepth == 0 || codeDepth > 0 || linkHref != null) {
+			return false;
+		}
+		if (markdown.length() > 0) {
+			pendingBreak = Math.max(pendingBreak, LINE_BREAK);
+		}
+		flushBreak();
+		indent(listDepth - 1);
+		markdown.append(" *  ");
+		atLineStart = false;
+		atItemStart = true;
+		pendingSpace = false;
+		skipSpace = true;
+		return true;
+	}
+
+	private boolean processEntity() throws IOException {
+		StringBuilder entity = new StringBuilder();
+		int c;
+		while ((c = read()) != -1 && c != ';' && entity.length() < 8) {
+			entity.append((char) c);
+		}
+		if (c != ';') {
+			return false;
+		}
+		String name = entity.toString();
+		switch (name) {
+		case "lt":
+			return appendText('<');
+		case "gt":
+			return appendText('>');
+		case "amp":
+			return appendText('&');
+		case "quot":
+			return appendText('"');
+		case "apos":
+			return appendText('\'');
+		default:
+			if (name.startsWith("#") && name.length() > 1) {
+				try {
+					int codePoint = name.charAt(1) == 'x' || name.charAt(1) == 'X' ? Integer.parseInt(name.substring(2), 16) : Integer.parseInt(name.substring(1));
+					return Character.isBmpCodePoint(codePoint) && appendText((char) codePoint);
+				} catch (NumberFormatException e) {
+					return false;
+				}
+			}
+			return false;
+		}
+	}
+
+	private boolean appendText(char c) {
+		if (Character.isWhitespace(c)) {
+			// leading whitespace is dropped, so lines never start with an indented code block
+			pendingSpace = !skipSpace;
+			lineStartNumber = false;
+			return true;
+		}
+		if (codeDepth == 0 && needsEscaping(c)) {
+			return false;
+		}
+		if (lineStartNumber && pendingBreak == NO_BREAK && !pendingSpace) {
+			if (c == '.' || c == ')') {
+				// "1. foo" would start an ordered list
+				return false;
+			}
+			lineStartNumber = Character.isDigit(c);
+		}
+		flushBreak();
+		if (atLineStart || atItemStart) {
+			// '*' is escaped anywhere in the text
+			if (codeDepth == 0 && "#>+-=".indexOf(c) >= 0) {
+				return false;
+			}
+			lineStartNumber = codeDepth == 0 && Character.isDigit(c);
+		}
+		if (atLineStart) {
+			pendingSpace = false;
+			indent(listDepth);
+		} else {
+			flushSpace();
+		}
+		markdown.append(c);
+		atLineStart = false;
+		atItemStart = false;
+		skipSpace = false;
+		return true;
+	}
+
+	private static boolean needsEscaping(char c) {
+		switch (c) {
+		case '*':
+		case '_':
+		case '`':
+		case '[':
+		case ']':
+		case '\\':
+		case '\u00a0':
+		case '\u2013':
+		case '\u2014':
+		case '\u2018':
+		case '\u2019':
+		case '\u201c':
+		case '\u201d':
+		case '\u2026':
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	private void flushBreak() {
+		if (pendingBreak == NO_BREAK) {
+			return;
+		}
+		if (markdown.length() > 0) {
+			trimTrailingWhitespace();
+			markdown.append('\n');
+			if (pendingBreak == PARAGRAPH_BREAK) {
+				markdown.append('\n');
+			} else if (pendingBreak == NESTED_LIST_BREAK) {
+				// nested lists are separated from the parent item content by an indented blank line
+				indent(listDepth - 1);
+				markdown.append('\n');
+			}
+			atLineStart = true;
+		}
+		pendingBreak = NO_BREAK;
+		pendingSpace = false;
+	}
+
+	private void flushSpace() {
+		if (pendingSpace && !atLineStart && markdown.length() > 0) {
+			markdown.append(' ');
+		}
+		pendingSpace = false;
+	}
+
+	private void indent(int depth) {
+		for (int i = 0; i < depth * 4; i++) {
+			markdown.append(' ');
+		}
+	}
+
+	private void trimTrailingWhitespace() {
+		int length = markdown.length();
+		while (length > 0 && Character.isWhitespace(markdown.charAt(length - 1))) {
+			length--;
+		}
+		markdown.setLength(length);
+	}
+
+	private static String getAttribute(String attributes, String name) {
+		int index = attributes.indexOf(name + "=");
+		if (index < 0) {
+			return null;
+		}
+		int start = index + name.length() + 1;
+		if (start >= attributes.length()) {
+			return null;
+		}
+		char quote = attributes.charAt(start);
+		if (quote == '"' || quote == '\'') {
+			int end = attributes.indexOf(quote, start + 1);
+			return end < 0 ? null : attributes.substring(start + 1, end);
+		}
+		int end = start;
+		while (end < attributes.length() && !Character.isWhitespace(attributes.charAt(end)) && attributes.charAt(end) != '/') {
+			end++;
+		}
+		return attributes.substring(start, end);
+	}
+}
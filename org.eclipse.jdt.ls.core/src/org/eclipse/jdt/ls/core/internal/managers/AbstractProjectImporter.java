@@ -30,4 +30,9 @@ public abstract class AbstractProjectImporter implements IProjectImporter {
 		// No-Op
 	}
 
+	@Override
+	public boolean isSynchronous() {
+		return true;
+	}
+
 }
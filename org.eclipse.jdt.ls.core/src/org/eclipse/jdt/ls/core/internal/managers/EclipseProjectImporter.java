@@ -11,26 +11,29 @@
 package org.eclipse.jdt.ls.core.internal.managers;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.LinkedHashSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IProjectDescription;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
 
 public class EclipseProjectImporter extends AbstractProjectImporter {
 
@@ -39,8 +42,22 @@ public class EclipseProjectImporter extends AbstractProjectImporter {
 	 */
 	public static final String METADATA_FOLDER = ".metadata"; //$NON-NLS-1$
 
+	private final ProjectFilesScanner scanner;
+
 	private Collection<File> projectFiles = null;
 
+	public EclipseProjectImporter() {
+		this(Preferences.DEFAULT_IMPORT_EXCLUSIONS);
+	}
+
+	/**
+	 * @param exclusions
+	 *            glob patterns of the directories not to search projects in
+	 */
+	public EclipseProjectImporter(Collection<String> exclusions) {
+		this.scanner = new ProjectFilesScanner(exclusions);
+	}
+
 	@Override
 	public boolean applies(IProgressMonitor monitor) throws InterruptedException {
 		Collection<File> files = getProjectFiles(monitor);
@@ -55,10 +72,7 @@ public class EclipseProjectImporter extends AbstractProjectImporter {
 	}
 
 	Collection<File> collectProjectFiles(IProgressMonitor monitor) throws InterruptedException {
-		Set<File> files = new LinkedHashSet<>();
-		Set<String> visitedDirectories = new HashSet<>();
-		collectProjectFilesFromDirectory(files, rootFolder, visitedDirectories, true, monitor);
-		return files;
+		return scanner.scan(rootFolder, IProjectDescription.DESCRIPTION_FILE_NAME, true, monitor);
 	}
 
 	@Override
@@ -75,32 +89,82 @@ public class EclipseProjectImporter extends AbstractProjectImporter {
 			return;
 		}
 		JavaLanguageServerPlugin.logInfo("Importing Eclipse project(s)");
-		int projectSize = files.size();
-		subMonitor.setWorkRemaining(projectSize);
-		for(File file : files) {
-			if (monitor.isCanceled()) {
-				throw new InterruptedException();
-			}
-			createProject(file, subMonitor.split(1));
+		Map<File, IProjectDescription> descriptions = loadProjectDescriptions(files, subMonitor.split(10));
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		List<IProject> existingProjects = new ArrayList<>();
+		try {
+			// create all the projects in a single operation, so their changes are notified at once
+			workspace.run((IWorkspaceRunnable) m -> {
+				SubMonitor runMonitor = SubMonitor.convert(m, descriptions.size() * 2);
+				for (Map.Entry<File, IProjectDescription> entry : descriptions.entrySet()) {
+					if (runMonitor.isCanceled()) {
+						throw new OperationCanceledException();
+					}
+					createProject(entry.getKey(), entry.getValue(), existingProjects, runMonitor.split(1));
+				}
+				// the projects are built once imported, their contents must be up to date by then
+				refresh(existingProjects, runMonitor.split(descriptions.size()));
+			}, workspace.getRoot(), IWorkspace.AVOID_UPDATE, subMonitor.split(85));
+		} catch (OperationCanceledException e) {
+			throw new InterruptedException();
 		}
 		subMonitor.done();
 	}
 
-	IProject createProject(File file, IProgressMonitor m) throws CoreException {
+	/**
+	 * Loads the descriptions of the given project files in parallel.
+	 *
+	 * @return the descriptions of the Java projects, in the order of the files
+	 */
+	private Map<File, IProjectDescription> loadProjectDescriptions(Collection<File> files, IProgressMonitor monitor) throws CoreException, InterruptedException {
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		Map<File, IProjectDescription> descriptions = new ConcurrentHashMap<>();
+		List<CoreException> failures = Collections.synchronizedList(new ArrayList<>());
+		files.parallelStream().forEach(file -> {
+			if (monitor.isCanceled() || !failures.isEmpty()) {
+				return;
+			}
+			try {
+				IProjectDescription descriptor = workspace.loadProjectDescription(new Path(file.getAbsolutePath()));
+				if (descriptor.hasNature(JavaCore.NATURE_ID)) {
+					descriptions.put(file, descriptor);
+				}
+			} catch (CoreException e) {
+				failures.add(e);
+			}
+		});
+		if (monitor.isCanceled()) {
+			throw new InterruptedException();
+		}
+		if (!failures.isEmpty()) {
+			throw failures.get(0);
+		}
+		Map<File, IProjectDescription> result = new LinkedHashMap<>();
+		for (File file : files) {
+			IProjectDescription descriptor = descriptions.get(file);
+			if (descriptor != null) {
+				result.put(file, descriptor);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Creates and opens the project of the given description. Projects which
+	 * already exist at the same location are only opened, and added to
+	 * <code>existingProjects</code> as they need to be refreshed.
+	 */
+	private IProject createProject(File file, IProjectDescription descriptor, Collection<IProject> existingProjects, IProgressMonitor m) throws CoreException {
 		SubMonitor monitor = SubMonitor.convert(m, 100);
 		IWorkspace workspace = ResourcesPlugin.getWorkspace();
 		IPath dotProjectPath = new Path(file.getAbsolutePath());
-		IProjectDescription descriptor = workspace.loadProjectDescription(dotProjectPath);
 		String name = descriptor.getName();
-		if (!descriptor.hasNature(JavaCore.NATURE_ID)) {
-			return null;
-		}
 		IProject project = workspace.getRoot().getProject(name);
 		if (project.exists()) {
 			IPath existingProjectPath = project.getLocation();
 			if (existingProjectPath.equals(dotProjectPath.removeLastSegments(1))) {
 				project.open(IResource.NONE, monitor);
-				project.refreshLocal(IResource.DEPTH_INFINITE, monitor);
+				existingProjects.add(project);
 				return project;
 			} else {
 				project = findUniqueProject(workspace, name);
@@ -113,6 +177,20 @@ public class EclipseProjectImporter extends AbstractProjectImporter {
 		return project;
 	}
 
+	/**
+	 * Refreshes the given projects, in the same operation as their creation,
+	 * so their changes are notified with the other imported projects.
+	 */
+	private static void refresh(List<IProject> projects, IProgressMonitor monitor) throws CoreException {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, projects.size());
+		for (IProject project : projects) {
+			if (subMonitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			project.refreshLocal(IResource.DEPTH_INFINITE, subMonitor.split(1));
+		}
+	}
+
 	//XXX should be package protected. Temporary fix (ahaha!) until test fragment can work in tycho builds
 	public IProject findUniqueProject(IWorkspace workspace, String basename) {
 		IProject project = null;
@@ -123,87 +201,4 @@ public class EclipseProjectImporter extends AbstractProjectImporter {
 		}
 		return project;
 	}
-
-	/**
-	 * Collect the list of .project files that are under directory into files.
-	 *
-	 * Copied from org.eclipse.ui.internal.wizards.datatransfer.WizardProjectsImportPage
-	 *
-	 * @param files
-	 * @param directory
-	 * @param directoriesVisited
-	 *            Set of canonical paths of directories, used as recursion guard
-	 * @param nestedProjects
-	 *            whether to look for nested projects
-	 * @param monitor
-	 *            The monitor to report to
-	 * @return boolean <code>true</code> if the operation was completed.
-	 * @throws InterruptedException
-	 */
-	static boolean collectProjectFilesFromDirectory(Collection<File> files, File directory,
-			Set<String> directoriesVisited, boolean nestedProjects, IProgressMonitor monitor) throws InterruptedException {
-
-		if (monitor.isCanceled()) {
-			throw new InterruptedException();
-		}
-		if (directory == null) {
-			return true;
-		}
-		//monitor.subTask(NLS.bind(
-		//		DataTransferMessages.WizardProjectsImportPage_CheckingMessage,
-		//		directory.getPath()));
-		File[] contents = directory.listFiles();
-		if (contents == null) {
-			return false;
-		}
-
-		// Initialize recursion guard for recursive symbolic links
-		if (directoriesVisited == null) {
-			directoriesVisited = new HashSet<>();
-			try {
-				directoriesVisited.add(directory.getCanonicalPath());
-			} catch (IOException exception) {
-				//StatusManager.getManager().handle(
-				//		StatusUtil.newStatus(IStatus.ERROR, exception
-				//				.getLocalizedMessage(), exception));
-			}
-		}
-
-		// first look for project description files
-		final String dotProject = IProjectDescription.DESCRIPTION_FILE_NAME;
-		List<File> directories = new ArrayList<>();
-		for (File file : contents) {
-			if(file.isDirectory()){
-				directories.add(file);
-			} else if (file.getName().equals(dotProject) && file.isFile()) {
-				files.add(file);
-				if (!nestedProjects) {
-					// don't search sub-directories since we can't have nested
-					// projects
-					return true;
-				}
-			}
-		}
-		// no project description found or search for nested projects enabled,
-		// so recurse into sub-directories
-		for (File dir : directories) {
-			if (!dir.getName().equals(METADATA_FOLDER)) {
-				try {
-					String canonicalPath = dir.getCanonicalPath();
-					if (!directoriesVisited.add(canonicalPath)) {
-						// already been here --> do not recurse
-						continue;
-					}
-				} catch (IOException exception) {
-					//StatusManager.getManager().handle(
-					//		StatusUtil.newStatus(IStatus.ERROR, exception
-					//				.getLocalizedMessage(), exception));
-
-				}
-				collectProjectFilesFromDirectory(files, dir,
-						directoriesVisited, nestedProjects, monitor);
-			}
-		}
-		return true;
-	}
-}
\ No newline at end of file
+}
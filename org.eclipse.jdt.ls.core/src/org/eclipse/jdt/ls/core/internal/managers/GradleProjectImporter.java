@@ -56,6 +56,15 @@ public class GradleProjectImporter extends AbstractProjectImporter {
 		startSynchronization(rootFolder, distribution, NewProjectHandler.IMPORT_AND_MERGE);
 	}
 
+	/**
+	 * Buildship synchronizes the projects in a job, whose outcome isn't known
+	 * when the import returns.
+	 */
+	@Override
+	public boolean isSynchronous() {
+		return false;
+	}
+
 	protected void startSynchronization(File location, GradleDistribution distribution, NewProjectHandler newProjectHandler) {
 		FixedRequestAttributes attributes = new FixedRequestAttributes(location, null, distribution, null, Collections.emptyList(), Collections.emptyList());
 		CorePlugin.gradleWorkspaceManager().getGradleBuild(attributes).synchronize(newProjectHandler);
@@ -23,5 +23,12 @@ public interface IProjectImporter {
 
 	void importToWorkspace(IProgressMonitor monitor) throws InterruptedException, CoreException;
 
+	/**
+	 * @return whether the projects are imported when
+	 *         {@link #importToWorkspace(IProgressMonitor)} returns, rather than
+	 *         by a job it scheduled
+	 */
+	boolean isSynchronous();
+
 	void reset();
 }
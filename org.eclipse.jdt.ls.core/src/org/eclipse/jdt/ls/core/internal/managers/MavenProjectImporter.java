@@ -11,20 +11,23 @@
 package org.eclipse.jdt.ls.core.internal.managers;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IProject;
-import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.ProgressMonitorWrapper;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.m2e.core.MavenPlugin;
@@ -88,16 +91,37 @@ public class MavenProjectImporter extends AbstractProjectImporter {
 		SubMonitor subMonitor = SubMonitor.convert(monitor, 100);
 		Set<MavenProjectInfo> files = getMavenProjectInfo(subMonitor.split(5));
 		ProjectImportConfiguration importConfig = new ProjectImportConfiguration();
-		List<IMavenProjectImportResult> importResults = configurationManager.importProjects(files, importConfig, subMonitor.split(95));
-		updateProjects(importConfig, importResults, monitor);
+		long start = System.currentTimeMillis();
+		StepTimingMonitor importMonitor = new StepTimingMonitor(subMonitor.split(75));
+		List<IMavenProjectImportResult> importResults;
+		try {
+			importResults = configurationManager.importProjects(files, importConfig, importMonitor);
+		} finally {
+			// m2e doesn't always call done(), which would log the last step
+			importMonitor.endStep();
+		}
+		StepTimingMonitor updateMonitor = new StepTimingMonitor(subMonitor.split(20));
+		try {
+			updateProjects(importResults, updateMonitor);
+		} finally {
+			updateMonitor.endStep();
+		}
+		JavaLanguageServerPlugin.logInfo("Imported " + files.size() + " Maven project(s) in " + (System.currentTimeMillis() - start) + "ms");
 	}
 
 	private File getProjectDirectory() {
 		return rootFolder;
 	}
 
-	private void updateProjects(ProjectImportConfiguration importConfig, List<IMavenProjectImportResult> importResults, IProgressMonitor monitor) throws CoreException {
+	/**
+	 * Updates the configuration of the projects which already existed in the
+	 * workspace, with a single request so their dependencies are resolved
+	 * together.
+	 */
+	private void updateProjects(List<IMavenProjectImportResult> importResults, IProgressMonitor monitor) throws CoreException {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, 2);
 		IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+		List<IProject> projects = new ArrayList<>();
 		for (IMavenProjectImportResult importResult : importResults) {
 			IProject project = importResult.getProject();
 			if (project == null) {
@@ -105,13 +129,26 @@ public class MavenProjectImporter extends AbstractProjectImporter {
 				File projectDir = importResult.getMavenProjectInfo().getPomFile().getParentFile();
 				IContainer container = root.getContainerForLocation(new Path(projectDir.getAbsolutePath()));
 				if (container instanceof IProject) {
-					project = (IProject)container;
-					project.open(monitor);
-					project.refreshLocal(IResource.DEPTH_INFINITE, monitor);
-					configurationManager.updateProjectConfiguration(new MavenUpdateRequest(project, MavenPlugin.getMavenConfiguration().isOffline(), true), monitor);
+					projects.add((IProject) container);
 				}
 			}
 		}
+		if (projects.isEmpty()) {
+			return;
+		}
+		SubMonitor openMonitor = subMonitor.split(1).setWorkRemaining(projects.size());
+		for (IProject project : projects) {
+			project.open(openMonitor.split(1));
+		}
+		IProject[] projectArray = projects.toArray(new IProject[projects.size()]);
+		MavenUpdateRequest request = new MavenUpdateRequest(projectArray, MavenPlugin.getMavenConfiguration().isOffline(), true);
+		// also refreshes the projects from the file system
+		Map<String, IStatus> results = configurationManager.updateProjectConfiguration(request, true, false, true, subMonitor.split(1));
+		for (Map.Entry<String, IStatus> result : results.entrySet()) {
+			if (!result.getValue().isOK()) {
+				JavaLanguageServerPlugin.log(result.getValue());
+			}
+		}
 	}
 
 	private Set<MavenProjectInfo> getMavenProjects(File directory, MavenModelManager modelManager, IProgressMonitor monitor) throws InterruptedException {
@@ -156,4 +193,49 @@ public class MavenProjectImporter extends AbstractProjectImporter {
 		}.collectProjects(projects);
 	}
 
+	/**
+	 * Logs the time spent in each sub task reported by m2e, as it reports one
+	 * per module being imported or updated. The last step is logged when the
+	 * monitor is done, or by {@link #endStep()}.
+	 */
+	private static class StepTimingMonitor extends ProgressMonitorWrapper {
+
+		/**
+		 * Steps faster than this aren't logged, to keep the log readable on
+		 * large reactors.
+		 */
+		private static final long MIN_LOGGED_DURATION = 100;
+
+		private String step;
+		private long stepStart;
+
+		StepTimingMonitor(IProgressMonitor monitor) {
+			super(monitor);
+		}
+
+		@Override
+		public void subTask(String name) {
+			endStep();
+			step = name;
+			stepStart = System.currentTimeMillis();
+			super.subTask(name);
+		}
+
+		@Override
+		public void done() {
+			endStep();
+			super.done();
+		}
+
+		void endStep() {
+			if (step != null && !step.isEmpty()) {
+				long duration = System.currentTimeMillis() - stepStart;
+				if (duration >= MIN_LOGGED_DURATION) {
+					JavaLanguageServerPlugin.logInfo(step + " took " + duration + "ms");
+				}
+			}
+			step = null;
+		}
+	}
+
 }
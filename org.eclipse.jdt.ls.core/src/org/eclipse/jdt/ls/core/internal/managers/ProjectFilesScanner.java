@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.managers;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+/**
+ * Finds the files with a given name, like project descriptions or build files,
+ * under a root directory.
+ *
+ * Directories are listed in parallel, in a fork-join pool. Directories
+ * matching one of the exclusion glob patterns aren't visited, and directories
+ * reachable through several paths (symbolic links) are only visited once.
+ */
+public class ProjectFilesScanner {
+
+	private final List<PathMatcher> exclusions = new ArrayList<>();
+
+	/**
+	 * @param exclusions
+	 *            glob patterns of the directories to skip, matched against
+	 *            their absolute path, e.g. <code>**&#47;node_modules</code>
+	 */
+	public ProjectFilesScanner(Collection<String> exclusions) {
+		FileSystem fileSystem = FileSystems.getDefault();
+		for (String exclusion : exclusions) {
+			this.exclusions.add(fileSystem.getPathMatcher("glob:" + exclusion));
+		}
+	}
+
+	/**
+	 * @param root
+	 *            the directory to scan
+	 * @param fileName
+	 *            the name of the files to find
+	 * @param nested
+	 *            whether to look for files in the sub-directories of a
+	 *            directory containing one
+	 * @param monitor
+	 *            the progress monitor, checked for cancellation
+	 * @return the files found, files of a directory coming before the files of
+	 *         its sub-directories
+	 * @throws InterruptedException
+	 *             if the scan is cancelled
+	 */
+	public Collection<File> scan(File root, String fileName, boolean nested, IProgressMonitor monitor) throws InterruptedException {
+		return scan(root, Collections.singleton(fileName), nested, monitor);
+	}
+
+	/**
+	 * @param root
+	 *            the directory to scan
+	 * @param fileNames
+	 *            the names of the files to find
+	 * @param nested
+	 *            whether to look for files in the sub-directories of a
+	 *            directory containing one
+	 * @param monitor
+	 *            the progress monitor, checked for cancellation
+	 * @return the files found, files of a directory coming before the files of
+	 *         its sub-directories
+	 * @throws InterruptedException
+	 *             if the scan is cancelled
+	 */
+	public Collection<File> scan(File root, Collection<String> fileNames, boolean nested, IProgressMonitor monitor) throws InterruptedException {
+		return scan(root, (Predicate<String>) fileNames::contains, nested, monitor);
+	}
+
+	/**
+	 * @param root
+	 *            the directory to scan
+	 * @param fileFilter
+	 *            accepts the names of the files to find
+	 * @param nested
+	 *            whether to look for files in the sub-directories of a
+	 *            directory containing one
+	 * @param monitor
+	 *            the progress monitor, checked for cancellation
+	 * @return the files found, files of a directory coming before the files of
+	 *         its sub-directories
+	 * @throws InterruptedException
+	 *             if the scan is cancelled
+	 */
+	public Collection<File> scan(File root, Predicate<String> fileFilter, boolean nested, IProgressMonitor monitor) throws InterruptedException {
+		if (root == null || !root.isDirectory()) {
+			return Collections.emptySet();
+		}
+		Set<Object> visitedDirectories = ConcurrentHashMap.newKeySet();
+		try {
+			List<File> files = ForkJoinPool.commonPool().invoke(new ScanTask(root.toPath(), fileFilter, nested, visitedDirectories, monitor));
+			return new LinkedHashSet<>(files);
+		} catch (CancellationException e) {
+			throw new InterruptedException();
+		}
+	}
+
+	private boolean isExcluded(Path directory) {
+		for (PathMatcher exclusion : exclusions) {
+			if (exclusion.matches(directory)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return an identifier of the directory, the same for all its paths
+	 */
+	private static Object getDirectoryKey(Path directory, BasicFileAttributes attributes) throws IOException {
+		Object key = attributes.fileKey();
+		return key == null ? directory.toRealPath() : key;
+	}
+
+	private class ScanTask extends RecursiveTask<List<File>> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Path directory;
+		private final Predicate<String> fileFilter;
+		private final boolean nested;
+		private final Set<Object> visitedDirectories;
+		private final IProgressMonitor monitor;
+
+		ScanTask(Path directory, Predicate<String> fileFilter, boolean nested, Set<Object> visitedDirectories, IProgressMonitor monitor) {
+			this.directory = directory;
+			this.fileFilter = fileFilter;
+			this.nested = nested;
+			this.visitedDirectories = visitedDirectories;
+			this.monitor = monitor;
+		}
+
+		@Override
+		protected List<File> compute() {
+			if (monitor.isCanceled()) {
+				throw new CancellationException();
+			}
+			List<File> result = new ArrayList<>();
+			List<Path> directories = new ArrayList<>();
+			try {
+				if (!visitedDirectories.add(getDirectoryKey(directory, Files.readAttributes(directory, BasicFileAttributes.class)))) {
+					// already been here
+					return result;
+				}
+				try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+					for (Path child : stream) {
+						if (Files.isDirectory(child)) {
+							directories.add(child);
+						} else if (fileFilter.test(child.getFileName().toString()) && Files.isRegularFile(child)) {
+							result.add(child.toFile());
+						}
+					}
+				}
+			} catch (IOException e) {
+				// unreadable directory
+				return result;
+			}
+			if (!result.isEmpty() && !nested) {
+				return result;
+			}
+			Collections.sort(directories);
+			List<ScanTask> tasks = new ArrayList<>(directories.size());
+			for (Path child : directories) {
+				if (!child.getFileName().toString().equals(EclipseProjectImporter.METADATA_FOLDER) && !isExcluded(child.toAbsolutePath())) {
+					tasks.add(new ScanTask(child, fileFilter, nested, visitedDirectories, monitor));
+				}
+			}
+			for (ScanTask task : invokeAll(tasks)) {
+				result.addAll(task.join());
+			}
+			return result;
+		}
+	}
+}
@@ -13,16 +13,23 @@ package org.eclipse.jdt.ls.core.internal.managers;
 import static java.util.Arrays.asList;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IProjectDescription;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspace.ProjectOrder;
 import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.resources.WorkspaceJob;
 import org.eclipse.core.runtime.CoreException;
@@ -33,6 +40,7 @@ import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.JavaCore;
@@ -44,6 +52,7 @@ import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.ProjectUtils;
 import org.eclipse.jdt.ls.core.internal.ServiceStatus;
 import org.eclipse.jdt.ls.core.internal.StatusFactory;
+import org.eclipse.jdt.ls.core.internal.StatusReport;
 import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
 import org.eclipse.jdt.ls.core.internal.preferences.Preferences.FeatureStatus;
 import org.eclipse.lsp4j.Command;
@@ -56,6 +65,8 @@ public class ProjectsManager {
 	public static final String DEFAULT_PROJECT_NAME= "jdt.ls-java-project";
 	private PreferenceManager preferenceManager;
 	private JavaLanguageClient client;
+	private WorkspaceFingerprint fingerprint;
+	private boolean workspaceUpToDate;
 
 	public enum CHANGE_TYPE { CREATED, CHANGED, DELETED};
 
@@ -70,9 +81,23 @@ public class ProjectsManager {
 
 			File userProjectRoot = (projectName == null)?null:new File(projectName);
 
+			fingerprint = new WorkspaceFingerprint(preferenceManager.getPreferences().getImportExclusions());
+			workspaceUpToDate = fingerprint.matchesLastImport(fingerprint.compute(userProjectRoot, subMonitor.split(5)));
+			if (workspaceUpToDate) {
+				JavaLanguageServerPlugin.logInfo("Build files unchanged since the last import, skipping it");
+				// sources may have been changed while the server wasn't running
+				getWorkspaceRoot().refreshLocal(IResource.DEPTH_INFINITE, subMonitor.split(85));
+				return Status.OK_STATUS;
+			}
+			fingerprint.invalidate();
+
 			IProjectImporter importer = getImporter(userProjectRoot, subMonitor.split(20));
 			if (importer != null) {
-				importer.importToWorkspace(subMonitor.split(70));
+				importer.importToWorkspace(subMonitor.split(60));
+			}
+			// an import still running in the background may yet fail
+			if (importer == null || importer.isSynchronous()) {
+				fingerprint.save(fingerprint.compute(userProjectRoot, subMonitor.split(5)));
 			}
 			return Status.OK_STATUS;
 		} catch (CoreException e) {
@@ -84,6 +109,104 @@ public class ProjectsManager {
 		}
 	}
 
+	/**
+	 * @return whether the last initialization found the workspace as it was
+	 *         left by the previous import, and skipped importing it again
+	 */
+	public boolean isWorkspaceUpToDate() {
+		return workspaceUpToDate;
+	}
+
+	/**
+	 * Builds the projects of the workspace in dependency order, starting with
+	 * the projects of the opened documents and the projects they require. The
+	 * opened documents are checked again after each project, so documents
+	 * opened during the build get their projects built next.
+	 *
+	 * The build is incremental when the workspace was completely built after
+	 * its last import, and full otherwise. Each project is reported ready
+	 * once built. When the projects depend on each other in cycles, the
+	 * workspace is built at once instead, which builds cycles repeatedly until
+	 * they are consistent.
+	 */
+	public void buildWorkspace(IProgressMonitor monitor) throws CoreException {
+		int kind = getBuildKind();
+		String kindName = kind == IncrementalProjectBuilder.INCREMENTAL_BUILD ? "Incremental" : "Full";
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		ProjectOrder order = workspace.computeProjectOrder(getWorkspaceRoot().getProjects());
+		if (order.hasCycles) {
+			JavaLanguageServerPlugin.logInfo(kindName + " build of the workspace, its projects have cyclic dependencies");
+			workspace.build(kind, monitor);
+			markBuilt();
+			return;
+		}
+		List<IProject> remaining = new ArrayList<>(Arrays.asList(order.projects));
+		int total = remaining.size();
+		JavaLanguageServerPlugin.logInfo(kindName + " build of " + total + " project(s)");
+		SubMonitor subMonitor = SubMonitor.convert(monitor, total);
+		while (!remaining.isEmpty()) {
+			IProject project = nextProjectToBuild(remaining);
+			remaining.remove(project);
+			if (project.isAccessible()) {
+				// the build rule is only held while building each project, so other operations can run in between
+				project.build(kind, subMonitor.split(1));
+				sendStatus(ServiceStatus.Message, project.getName() + " is ready (" + (total - remaining.size()) + "/" + total + ")");
+			} else {
+				subMonitor.worked(1);
+			}
+		}
+		markBuilt();
+	}
+
+	/**
+	 * @return {@link IncrementalProjectBuilder#INCREMENTAL_BUILD} when the
+	 *         workspace was completely built after its last import,
+	 *         {@link IncrementalProjectBuilder#FULL_BUILD} otherwise
+	 */
+	public int getBuildKind() {
+		boolean incremental = workspaceUpToDate && fingerprint != null && fingerprint.isLastImportBuilt();
+		return incremental ? IncrementalProjectBuilder.INCREMENTAL_BUILD : IncrementalProjectBuilder.FULL_BUILD;
+	}
+
+	private void sendStatus(ServiceStatus status, String message) {
+		if (client != null) {
+			client.sendStatusReport(new StatusReport().withType(status.name()).withMessage(message));
+		}
+	}
+
+	private void markBuilt() {
+		if (fingerprint != null) {
+			fingerprint.markBuilt();
+		}
+	}
+
+	/**
+	 * @param remaining
+	 *            the projects left to build, in dependency order
+	 * @return the first remaining project required by an opened document, or
+	 *         the first remaining project when there is none
+	 */
+	private static IProject nextProjectToBuild(List<IProject> remaining) throws CoreException {
+		Set<IProject> opened = new HashSet<>();
+		for (ICompilationUnit unit : JavaCore.getWorkingCopies(null)) {
+			addRequiredProjects(unit.getJavaProject().getProject(), opened);
+		}
+		for (IProject project : remaining) {
+			if (opened.contains(project)) {
+				return project;
+			}
+		}
+		return remaining.get(0);
+	}
+
+	private static void addRequiredProjects(IProject project, Set<IProject> projects) throws CoreException {
+		if (project.isAccessible() && projects.add(project)) {
+			for (IProject required : project.getReferencedProjects()) {
+				addRequiredProjects(required, projects);
+			}
+		}
+	}
+
 	private static IWorkspaceRoot getWorkspaceRoot() {
 		return ResourcesPlugin.getWorkspace().getRoot();
 	}
@@ -153,7 +276,7 @@ public class ProjectsManager {
 	}
 
 	private Collection<IProjectImporter> importers() {
-		return Arrays.asList(new GradleProjectImporter(), new MavenProjectImporter(), new EclipseProjectImporter());
+		return Arrays.asList(new GradleProjectImporter(), new MavenProjectImporter(), new EclipseProjectImporter(preferenceManager.getPreferences().getImportExclusions()));
 	}
 
 	private IProject createJavaProject(IProgressMonitor monitor) throws CoreException, OperationCanceledException, InterruptedException {
@@ -0,0 +1,284 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.managers;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import org.apache.maven.model.Parent;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.launching.IVMInstall;
+import org.eclipse.jdt.launching.JavaRuntime;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.m2e.core.MavenPlugin;
+
+/**
+ * Fingerprint of what the import of a root folder depends on: the content of
+ * its build files, the projects of the workspace, the JDK and the import
+ * settings.
+ *
+ * The fingerprint of the last successful import is persisted in the plug-in
+ * state location, so the import can be skipped when the server is restarted
+ * on an unchanged workspace.
+ */
+public class WorkspaceFingerprint {
+
+	private static final String FINGERPRINT_FILE = "import.properties";
+	private static final String FINGERPRINT_KEY = "fingerprint";
+	private static final String BUILT_KEY = "built";
+	private static final String MAVEN_POM = "pom.xml";
+
+	/**
+	 * Names of the files which change the result of the import, besides the
+	 * Gradle scripts.
+	 */
+	static final List<String> BUILD_FILE_NAMES = Arrays.asList(
+			IProjectDescription.DESCRIPTION_FILE_NAME,
+			".classpath",
+			"org.eclipse.jdt.core.prefs",
+			MAVEN_POM,
+			"gradle.properties",
+			"gradle-wrapper.properties",
+			"gradlew");
+
+	private final ProjectFilesScanner scanner;
+	private final Collection<String> exclusions;
+
+	/**
+	 * @param exclusions
+	 *            glob patterns of the directories not to search build files in
+	 */
+	public WorkspaceFingerprint(Collection<String> exclusions) {
+		this.exclusions = exclusions;
+		this.scanner = new ProjectFilesScanner(exclusions);
+	}
+
+	/**
+	 * @param root
+	 *            the root folder to import, can be <code>null</code>
+	 * @return the fingerprint of the current state of the root folder and of
+	 *         the workspace
+	 * @throws InterruptedException
+	 *             if cancelled
+	 */
+	public String compute(File root, IProgressMonitor monitor) throws InterruptedException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-1");
+		} catch (NoSuchAlgorithmException e) {
+			return null;
+		}
+		update(digest, "server", JavaLanguageServerPlugin.getVersion());
+		IVMInstall vm = JavaRuntime.getDefaultVMInstall();
+		update(digest, "jdk", vm == null || vm.getInstallLocation() == null ? null : vm.getInstallLocation().getAbsolutePath());
+		update(digest, "exclusions", String.valueOf(exclusions));
+		IProject[] projects = ResourcesPlugin.getWorkspace().getRoot().getProjects();
+		Arrays.sort(projects, Comparator.comparing(IProject::getName));
+		for (IProject project : projects) {
+			IPath location = project.getLocation();
+			update(digest, "project", project.getName() + "=" + (location == null ? null : location.toOSString()) + ":" + project.isOpen());
+		}
+		if (root != null) {
+			update(digest, "root", root.getAbsolutePath());
+			Collection<File> files = scanner.scan(root, WorkspaceFingerprint::isBuildFile, true, monitor);
+			for (File file : files) {
+				update(digest, file);
+			}
+			for (File file : getExternalParentPoms(root, files)) {
+				update(digest, file);
+			}
+		}
+		StringBuilder hex = new StringBuilder();
+		for (byte b : digest.digest()) {
+			hex.append(String.format("%02x", b));
+		}
+		return hex.toString();
+	}
+
+	/**
+	 * @return whether a file of the given name is a build file, the Gradle
+	 *         scripts being recognized like in {@link GradleBuildSupport}
+	 */
+	static boolean isBuildFile(String fileName) {
+		return BUILD_FILE_NAMES.contains(fileName) || fileName.endsWith(".gradle");
+	}
+
+	/**
+	 * @return the parent POMs of the given build files which are outside of
+	 *         the root folder, in the order they are found. Parents resolved
+	 *         from the repositories are not followed.
+	 */
+	private static Collection<File> getExternalParentPoms(File root, Collection<File> files) {
+		Path rootPath;
+		try {
+			// compared to the canonical paths of the parents
+			rootPath = root.getCanonicalFile().toPath();
+		} catch (IOException e) {
+			rootPath = root.toPath().toAbsolutePath().normalize();
+		}
+		Set<File> parents = new LinkedHashSet<>();
+		Deque<File> poms = new ArrayDeque<>();
+		for (File file : files) {
+			if (MAVEN_POM.equals(file.getName())) {
+				poms.add(file);
+			}
+		}
+		while (!poms.isEmpty()) {
+			File parent = getParentPom(poms.poll());
+			if (parent != null && !parent.toPath().startsWith(rootPath) && parents.add(parent)) {
+				poms.add(parent);
+			}
+		}
+		return parents;
+	}
+
+	/**
+	 * @return the parent POM found at the relative path of the parent of the
+	 *         given POM, or <code>null</code> if none
+	 */
+	private static File getParentPom(File pom) {
+		try {
+			Parent parent = MavenPlugin.getMaven().readModel(pom).getParent();
+			if (parent == null || parent.getRelativePath() == null || parent.getRelativePath().isEmpty()) {
+				return null;
+			}
+			File file = new File(pom.getParentFile(), parent.getRelativePath());
+			if (file.isDirectory()) {
+				file = new File(file, MAVEN_POM);
+			}
+			return file.isFile() ? file.getCanonicalFile() : null;
+		} catch (CoreException | IOException e) {
+			// unreadable POM, the import will fail anyway
+			return null;
+		}
+	}
+
+	private static void update(MessageDigest digest, File file) {
+		update(digest, "file", file.getAbsolutePath());
+		try {
+			digest.update(Files.readAllBytes(file.toPath()));
+		} catch (IOException e) {
+			// unreadable build file, the import will fail anyway
+			update(digest, "unreadable", file.getAbsolutePath());
+		}
+	}
+
+	private static void update(MessageDigest digest, String key, String value) {
+		digest.update((key + ":" + value + "\n").getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * @return whether the given fingerprint is the one of the last import
+	 */
+	public boolean matchesLastImport(String fingerprint) {
+		return fingerprint != null && fingerprint.equals(load().getProperty(FINGERPRINT_KEY));
+	}
+
+	/**
+	 * @return whether the workspace was completely built after the last import
+	 */
+	public boolean isLastImportBuilt() {
+		return Boolean.parseBoolean(load().getProperty(BUILT_KEY));
+	}
+
+	/**
+	 * Persists the fingerprint of a successful import.
+	 */
+	public void save(String fingerprint) {
+		if (fingerprint == null) {
+			return;
+		}
+		Properties properties = new Properties();
+		properties.setProperty(FINGERPRINT_KEY, fingerprint);
+		store(properties);
+	}
+
+	/**
+	 * Records that the workspace was completely built after the last import,
+	 * so the build state of its projects can be trusted on the next startup.
+	 */
+	public void markBuilt() {
+		Properties properties = load();
+		if (properties.getProperty(FINGERPRINT_KEY) != null) {
+			properties.setProperty(BUILT_KEY, Boolean.TRUE.toString());
+			store(properties);
+		}
+	}
+
+	/**
+	 * Forgets the last import, so an interrupted import is not mistaken for a
+	 * complete one.
+	 */
+	public void invalidate() {
+		File file = getFingerprintFile();
+		if (file != null && file.exists()) {
+			file.delete();
+		}
+	}
+
+	private static Properties load() {
+		Properties properties = new Properties();
+		File file = getFingerprintFile();
+		if (file == null || !file.isFile()) {
+			return properties;
+		}
+		try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+			properties.load(in);
+		} catch (IOException e) {
+			JavaLanguageServerPlugin.logException("Unable to read the import state " + file, e);
+			properties.clear();
+		}
+		return properties;
+	}
+
+	private static void store(Properties properties) {
+		File file = getFingerprintFile();
+		if (file == null) {
+			return;
+		}
+		file.getParentFile().mkdirs();
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+			properties.store(out, null);
+		} catch (IOException e) {
+			JavaLanguageServerPlugin.logException("Unable to write the import state " + file, e);
+		}
+	}
+
+	private static File getFingerprintFile() {
+		IPath stateLocation = JavaLanguageServerPlugin.getStateLocation();
+		return stateLocation == null ? null : stateLocation.append(FINGERPRINT_FILE).toFile();
+	}
+}
@@ -24,6 +24,8 @@ public class PreferenceManager {
 
 	private Preferences preferences ;
 
+	private boolean codeLensReferencesSupported;
+
 	public PreferenceManager() {
 		preferences = new Preferences();
 	}
@@ -48,4 +50,17 @@ public class PreferenceManager {
 		return preferences;
 	}
 
+	/**
+	 * @return whether the client requests the locations of code lens
+	 *         references with <code>java/codeLensReferences</code>, rather than
+	 *         getting them in the code lens command
+	 */
+	public boolean isCodeLensReferencesSupported() {
+		return codeLensReferencesSupported;
+	}
+
+	public void setCodeLensReferencesSupported(boolean codeLensReferencesSupported) {
+		this.codeLensReferencesSupported = codeLensReferencesSupported;
+	}
+
 }
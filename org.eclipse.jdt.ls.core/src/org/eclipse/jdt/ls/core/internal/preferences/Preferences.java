@@ -10,6 +10,11 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.preferences;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.lsp4j.MessageType;
@@ -37,9 +42,50 @@ public class Preferences {
 	 */
 	public static final String ERRORS_INCOMPLETE_CLASSPATH_SEVERITY_KEY = "java.errors.incompleteClasspath.severity";
 
+	/**
+	 * Preference key to enable/disable parallel conversion of large completion results.
+	 */
+	public static final String COMPLETION_PARALLEL_CONVERSION_ENABLED_KEY = "java.completion.parallelConversion.enabled";
+
+	/**
+	 * Preference key to enable/disable computing completion item details on resolve only.
+	 */
+	public static final String COMPLETION_DEFERRED_DETAILS_ENABLED_KEY = "java.completion.deferredDetails.enabled";
+
+	/**
+	 * Preference key for the number of search results streamed per partial result notification, 0 disables streaming.
+	 */
+	public static final String PARTIAL_RESULTS_BATCH_SIZE_KEY = "java.partialResults.batchSize";
+
+	/**
+	 * Preference key for the maximum number of search results, like references, 0 for no limit.
+	 * Workspace symbols are limited by {@link #SYMBOLS_MAX_RESULTS_KEY} instead.
+	 */
+	public static final String SEARCH_MAX_RESULTS_KEY = "java.search.maxResults";
+
+	/**
+	 * Preference key for the maximum number of workspace symbols returned per query, 0 for no limit.
+	 */
+	public static final String SYMBOLS_MAX_RESULTS_KEY = "java.symbols.maxResults";
+
+	/**
+	 * Preference key for the glob patterns of the directories skipped when discovering projects.
+	 */
+	public static final String IMPORT_EXCLUSIONS_KEY = "java.import.exclusions";
+
+	public static final int DEFAULT_SYMBOLS_MAX_RESULTS = 500;
+
+	public static final List<String> DEFAULT_IMPORT_EXCLUSIONS = Collections.unmodifiableList(Arrays.asList("**/node_modules", "**/.git"));
+
 	private Severity incompleteClasspathSeverity;
 	private FeatureStatus updateBuildConfigurationStatus;
 	private boolean referencesCodeLensEnabled;
+	private boolean parallelCompletionConversionEnabled;
+	private boolean deferredCompletionDetailsEnabled;
+	private int partialResultsBatchSize;
+	private int searchMaxResults;
+	private int symbolsMaxResults;
+	private List<String> importExclusions;
 
 	public static enum Severity {
 		ignore, log, info, warning, error;
@@ -87,6 +133,12 @@ public class Preferences {
 		incompleteClasspathSeverity = Severity.warning;
 		updateBuildConfigurationStatus = FeatureStatus.interactive;
 		referencesCodeLensEnabled = true;
+		parallelCompletionConversionEnabled = false;
+		deferredCompletionDetailsEnabled = false;
+		partialResultsBatchSize = 0;
+		searchMaxResults = 0;
+		symbolsMaxResults = DEFAULT_SYMBOLS_MAX_RESULTS;
+		importExclusions = DEFAULT_IMPORT_EXCLUSIONS;
 	}
 
 	/**
@@ -112,6 +164,36 @@ public class Preferences {
 			prefs.setReferencesCodelensEnabled(Boolean.valueOf(referenceCodelensEnabled.toString()));
 		}
 
+		Object parallelCompletionConversionEnabled = configuration.get(COMPLETION_PARALLEL_CONVERSION_ENABLED_KEY);
+		if (parallelCompletionConversionEnabled != null) {
+			prefs.setParallelCompletionConversionEnabled(Boolean.valueOf(parallelCompletionConversionEnabled.toString()));
+		}
+
+		Object deferredCompletionDetailsEnabled = configuration.get(COMPLETION_DEFERRED_DETAILS_ENABLED_KEY);
+		if (deferredCompletionDetailsEnabled != null) {
+			prefs.setDeferredCompletionDetailsEnabled(Boolean.valueOf(deferredCompletionDetailsEnabled.toString()));
+		}
+
+		Object partialResultsBatchSize = configuration.get(PARTIAL_RESULTS_BATCH_SIZE_KEY);
+		if (partialResultsBatchSize != null) {
+			prefs.setPartialResultsBatchSize(toInt(partialResultsBatchSize, 0));
+		}
+
+		Object searchMaxResults = configuration.get(SEARCH_MAX_RESULTS_KEY);
+		if (searchMaxResults != null) {
+			prefs.setSearchMaxResults(toInt(searchMaxResults, 0));
+		}
+
+		Object symbolsMaxResults = configuration.get(SYMBOLS_MAX_RESULTS_KEY);
+		if (symbolsMaxResults != null) {
+			prefs.setSymbolsMaxResults(toInt(symbolsMaxResults, DEFAULT_SYMBOLS_MAX_RESULTS));
+		}
+
+		Object importExclusions = configuration.get(IMPORT_EXCLUSIONS_KEY);
+		if (importExclusions != null) {
+			prefs.setImportExclusions(toList(importExclusions));
+		}
+
 
 		return prefs;
 	}
@@ -121,6 +203,63 @@ public class Preferences {
 		return this;
 	}
 
+	private Preferences setParallelCompletionConversionEnabled(boolean enabled) {
+		this.parallelCompletionConversionEnabled = enabled;
+		return this;
+	}
+
+	private Preferences setDeferredCompletionDetailsEnabled(boolean enabled) {
+		this.deferredCompletionDetailsEnabled = enabled;
+		return this;
+	}
+
+	private static int toInt(Object value, int defaultValue) {
+		if (value instanceof Number) {
+			return Math.max(0, ((Number) value).intValue());
+		}
+		try {
+			return Math.max(0, (int) Double.parseDouble(value.toString()));
+		} catch (NumberFormatException e) {
+			//fall back to default value
+			return defaultValue;
+		}
+	}
+
+	private static List<String> toList(Object value) {
+		List<String> result = new ArrayList<>();
+		if (value instanceof Collection) {
+			for (Object item : (Collection<?>) value) {
+				result.add(item.toString().trim());
+			}
+		} else {
+			for (String item : value.toString().split(",")) {
+				result.add(item.trim());
+			}
+		}
+		result.removeIf(String::isEmpty);
+		return result;
+	}
+
+	private Preferences setPartialResultsBatchSize(int batchSize) {
+		this.partialResultsBatchSize = batchSize;
+		return this;
+	}
+
+	private Preferences setSearchMaxResults(int maxResults) {
+		this.searchMaxResults = maxResults;
+		return this;
+	}
+
+	private Preferences setSymbolsMaxResults(int maxResults) {
+		this.symbolsMaxResults = maxResults;
+		return this;
+	}
+
+	private Preferences setImportExclusions(List<String> exclusions) {
+		this.importExclusions = exclusions;
+		return this;
+	}
+
 	private Preferences setUpdateBuildConfigurationStatus(FeatureStatus status) {
 		this.updateBuildConfigurationStatus = status;
 		return this;
@@ -142,4 +281,28 @@ public class Preferences {
 	public boolean isReferencesCodeLensEnabled() {
 		return referencesCodeLensEnabled;
 	}
+
+	public boolean isParallelCompletionConversionEnabled() {
+		return parallelCompletionConversionEnabled;
+	}
+
+	public boolean isDeferredCompletionDetailsEnabled() {
+		return deferredCompletionDetailsEnabled;
+	}
+
+	public int getPartialResultsBatchSize() {
+		return partialResultsBatchSize;
+	}
+
+	public int getSearchMaxResults() {
+		return searchMaxResults;
+	}
+
+	public int getSymbolsMaxResults() {
+		return symbolsMaxResults;
+	}
+
+	public List<String> getImportExclusions() {
+		return importExclusions;
+	}
 }
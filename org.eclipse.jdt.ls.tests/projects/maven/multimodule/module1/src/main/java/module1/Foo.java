@@ -0,0 +1,7 @@
+package module1;
+
+public class Foo {
+
+	public static void foo() {
+	}
+}
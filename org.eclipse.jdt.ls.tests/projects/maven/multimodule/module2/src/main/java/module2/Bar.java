@@ -0,0 +1,10 @@
+package module2;
+
+import module1.Foo;
+
+public class Bar {
+
+	public void bar() {
+		Foo.foo();
+	}
+}
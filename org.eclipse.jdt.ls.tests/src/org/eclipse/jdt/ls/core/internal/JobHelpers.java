@@ -165,7 +165,7 @@ public class JobHelpers {
 		return null;
 	}
 
-	interface IJobMatcher {
+	public interface IJobMatcher {
 
 		boolean matches(Job job);
 
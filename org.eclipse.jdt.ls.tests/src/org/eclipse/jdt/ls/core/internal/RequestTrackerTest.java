@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.messages.NotificationMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.RequestMessage;
+import org.junit.Test;
+
+public class RequestTrackerTest {
+
+	@Test
+	public void testCurrentRequestId() {
+		List<String> ids = new ArrayList<>();
+		MessageConsumer consumer = RequestTracker.wrap(message -> ids.add(RequestTracker.getCurrentRequestId()));
+
+		RequestMessage request = new RequestMessage();
+		request.setId("42");
+		request.setMethod("workspace/symbol");
+		consumer.consume(request);
+		NotificationMessage notification = new NotificationMessage();
+		notification.setMethod("textDocument/didChange");
+		consumer.consume(notification);
+
+		assertEquals("42", ids.get(0));
+		assertNull(ids.get(1));
+		assertNull(RequestTracker.getCurrentRequestId());
+	}
+
+	@Test
+	public void testMessagesSentDuringDispatch() {
+		List<String> ids = new ArrayList<>();
+		List<String> sentIds = new ArrayList<>();
+		MessageConsumer outgoing = RequestTracker.wrap(message -> sentIds.add(RequestTracker.getCurrentRequestId()));
+		MessageConsumer incoming = RequestTracker.wrap(message -> {
+			// e.g. a log message forwarded to the client
+			NotificationMessage log = new NotificationMessage();
+			log.setMethod("window/logMessage");
+			outgoing.consume(log);
+			RequestMessage request = new RequestMessage();
+			request.setId("1");
+			request.setMethod("workspace/applyEdit");
+			outgoing.consume(request);
+			ids.add(RequestTracker.getCurrentRequestId());
+		});
+
+		RequestMessage request = new RequestMessage();
+		request.setId("42");
+		request.setMethod("textDocument/references");
+		incoming.consume(request);
+
+		assertEquals("42", ids.get(0));
+		assertNull(sentIds.get(0));
+		assertEquals("1", sentIds.get(1));
+		assertNull(RequestTracker.getCurrentRequestId());
+	}
+}
@@ -11,6 +11,7 @@
 package org.eclipse.jdt.ls.core.internal.contentassist;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
@@ -51,4 +52,35 @@ public class SortTextHelperTest {
 
 	}
 
+	@Test
+	public void testConvertRelevanceMatchesDigitEncoding() throws Exception {
+		for (int i = -1; i < 10000; i++) {
+			assertEquals(encodeWithStringBuilder(i), SortTextHelper.convertRelevance(i));
+		}
+		for (int i : new int[] { 123456, 99999999, Integer.MAX_VALUE }) {
+			assertEquals(encodeWithStringBuilder(i), SortTextHelper.convertRelevance(i));
+		}
+	}
+
+	@Test
+	public void testConvertRelevanceIsCached() throws Exception {
+		assertSame(SortTextHelper.convertRelevance(42 * 16 + 4), SortTextHelper.convertRelevance(42 * 16 + 4));
+	}
+
+	private static String encodeWithStringBuilder(int relevance) {
+		char[] reverseCharMap = { 'j', 'i', 'h', 'g', 'f', 'e', 'd', 'c', 'b', 'a' };
+		StringBuilder sb = new StringBuilder();
+		if (relevance < 1) {
+			sb.append("z");
+		}
+		while (relevance > 0) {
+			sb.insert(0, reverseCharMap[relevance % 10]);
+			relevance = relevance / 10;
+		}
+		while (sb.length() < 10) {
+			sb.insert(0, "z");
+		}
+		return sb.toString();
+	}
+
 }
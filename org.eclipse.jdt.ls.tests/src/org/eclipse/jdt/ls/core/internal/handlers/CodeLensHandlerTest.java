@@ -22,11 +22,19 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.net.URI;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.ls.core.internal.CodeLensReferencesParams;
 import org.eclipse.jdt.ls.core.internal.ResourceUtils;
 import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
 import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
@@ -36,7 +44,10 @@ import org.eclipse.lsp4j.CodeLens;
 import org.eclipse.lsp4j.CodeLensParams;
 import org.eclipse.lsp4j.Command;
 import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -91,6 +102,11 @@ public class CodeLensHandlerTest extends AbstractProjectsManagerBasedTest {
 
 	private PreferenceManager preferenceManager;
 
+	@After
+	public void clearReferences() {
+		ReferencesCache.getInstance().dispose();
+	}
+
 	@Before
 	public void setup() throws Exception {
 		importProjects("eclipse/hello");
@@ -156,9 +172,30 @@ public class CodeLensHandlerTest extends AbstractProjectsManagerBasedTest {
 	}
 
 
+	@Test
+	public void testPrefetchNestedInvocations() throws Exception {
+		IType bar = JavaCore.create(project).findType("java.Bar");
+		String source = "package java;\n\npublic class Nested {\n\n\tint a(int i) {\n\t\treturn i;\n\t}\n\n\tint b() {\n\t\treturn 0;\n\t}\n\n\tint c() {\n\t\treturn a(b());\n\t}\n}\n";
+		ICompilationUnit unit = bar.getPackageFragment().createCompilationUnit("Nested.java", source, true, monitor);
+		waitForBackgroundJobs();
+		IMethod a = unit.getType("Nested").getMethod("a", new String[] { "I" });
+		IMethod b = unit.getType("Nested").getMethod("b", new String[0]);
+
+		//the invocations are attributed by their selector, not by the names in their arguments
+		ReferencesCache.getInstance().prefetch(Arrays.asList(a, b), IJavaSearchScope.SOURCES, monitor);
+		assertTrue(ReferencesCache.getInstance().contains(a, IJavaSearchScope.SOURCES));
+		assertTrue(ReferencesCache.getInstance().contains(b, IJavaSearchScope.SOURCES));
+		List<Location> references = ReferencesCache.getInstance().getReferences(a, IJavaSearchScope.SOURCES, monitor);
+		assertEquals(1, references.size());
+		assertEquals(9, references.get(0).getRange().getStart().getCharacter());
+		references = ReferencesCache.getInstance().getReferences(b, IJavaSearchScope.SOURCES, monitor);
+		assertEquals(1, references.size());
+		assertEquals(11, references.get(0).getRange().getStart().getCharacter());
+	}
+
 	@SuppressWarnings("unchecked")
 	@Test
-	public void testResolveCodeLense() {
+	public void testResolveCodeLense() throws Exception {
 		String source = "src/java/Foo.java";
 		String payload = createCodeLensRequest(source, 5, 13, 16);
 
@@ -196,6 +233,91 @@ public class CodeLensHandlerTest extends AbstractProjectsManagerBasedTest {
 		assertRange(5, 25, 28, loc.getRange());
 	}
 
+	@Test
+	public void testResolveCodeLenseLazyReferences() throws Exception {
+		when(preferenceManager.isCodeLensReferencesSupported()).thenReturn(true);
+		String source = "src/java/Foo.java";
+		CodeLens result = handler.resolve(getParams(createCodeLensRequest(source, 5, 13, 16)));
+		Command command = result.getCommand();
+		assertEquals("1 reference", command.getTitle());
+		List<Object> args = command.getArguments();
+		assertEquals(3, args.size());
+		String sourceUri = args.get(0).toString();
+
+		//Referenced element
+		String handle = (String) args.get(2);
+		assertEquals(JavaCore.create(project).findType("java.Foo").getHandleIdentifier(), handle);
+
+		//Reference location, requested separately
+		CodeLensReferencesParams params = new CodeLensReferencesParams(new TextDocumentIdentifier(sourceUri), new Position(5, 13), handle);
+		List<Location> locations = handler.getReferences(params);
+		assertEquals(1, locations.size());
+		Location loc = locations.get(0);
+		assertTrue(loc.getUri().endsWith("src/java/Bar.java"));
+		assertRange(5, 25, 28, loc.getRange());
+
+		//the handle is used rather than the position
+		assertEquals(locations, handler.getReferences(new CodeLensReferencesParams(new TextDocumentIdentifier(sourceUri), new Position(0, 0), handle)));
+		//the position is used without handle
+		assertEquals(locations, handler.getReferences(new CodeLensReferencesParams(new TextDocumentIdentifier(sourceUri), new Position(5, 13), null)));
+	}
+
+	@Test
+	public void testResolveCodeLenseAfterBodyChange() throws Exception {
+		String payload = createCodeLensRequest("src/java/Foo.java", 5, 13, 16);
+		assertEquals("1 reference", handler.resolve(getParams(payload)).getCommand().getTitle());
+
+		ICompilationUnit bar = JavaCore.createCompilationUnitFrom(project.getFile("src/java/Bar.java"));
+		bar.becomeWorkingCopy(new NullProgressMonitor());
+		try {
+			String contents = bar.getBuffer().getContents();
+			bar.getBuffer().replace(contents.indexOf("somethingFromLombok();"), 0, "new Foo();");
+			bar.reconcile(ICompilationUnit.NO_AST, false, null, null);
+			assertEquals("2 references", handler.resolve(getParams(payload)).getCommand().getTitle());
+		} finally {
+			bar.discardWorkingCopy();
+		}
+		assertEquals("1 reference", handler.resolve(getParams(payload)).getCommand().getTitle());
+	}
+
+	@Test
+	public void testResolveCodeLensesOfDocument() throws Exception {
+		IType bar = JavaCore.create(project).findType("java.Bar");
+		IMethod constructor = bar.getMethod("Bar", new String[0]);
+		IMethod somethingFromJPAModelGen = bar.getMethod("somethingFromJPAModelGen", new String[0]);
+
+		String payload = createCodeLensRequest("src/java/Bar.java", 5, 13, 16);
+		assertEquals("0 references", handler.resolve(getParams(payload)).getCommand().getTitle());
+
+		//references to the other methods were searched at once
+		assertTrue(ReferencesCache.getInstance().contains(somethingFromJPAModelGen, IJavaSearchScope.SOURCES));
+		assertFalse(ReferencesCache.getInstance().contains(constructor, IJavaSearchScope.SOURCES));
+		//constructors can't be attributed, they aren't searched with the other elements again
+		assertFalse(ReferencesCache.getInstance().isPrefetchable(constructor, IJavaSearchScope.SOURCES));
+		payload = createCodeLensRequest("src/java/Bar.java", 16, 16, 40);
+		assertEquals("1 reference", handler.resolve(getParams(payload)).getCommand().getTitle());
+
+		ReferencesCache.getInstance().clear();
+		assertTrue(ReferencesCache.getInstance().isPrefetchable(constructor, IJavaSearchScope.SOURCES));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testResolveCodeLensByHandle() throws Exception {
+		String payload = createCodeLensSymbolsRequest("src/java/Foo.java");
+		CodeLensParams codeLensParams = getParams(payload);
+		List<CodeLens> lenses = handler.getCodeLensSymbols(codeLensParams.getTextDocument().getUri());
+		CodeLens lens = lenses.get(1);
+		List<Object> data = (List<Object>) lens.getData();
+		assertEquals(JavaCore.create(project).findType("java.Foo").getHandleIdentifier(), data.get(2));
+
+		//the handle is used rather than the position
+		CodeLens stale = new CodeLens();
+		stale.setRange(lens.getRange());
+		stale.setData(Arrays.asList(data.get(0), Collections.singletonMap("line", 0.0), data.get(2)));
+		assertEquals("1 reference", handler.resolve(stale).getCommand().getTitle());
+	}
+
 	@Test
 	public void testResolveCodeLenseBoundaries() {
 		CodeLens result = handler.resolve(null);
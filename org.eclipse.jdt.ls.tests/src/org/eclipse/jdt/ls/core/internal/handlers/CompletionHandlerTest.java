@@ -29,6 +29,7 @@ import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JsonMessageHelper;
+import org.eclipse.jdt.ls.core.internal.contentassist.CompletionProposalRequestor;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionItemKind;
 import org.eclipse.lsp4j.CompletionList;
@@ -93,9 +94,13 @@ public class CompletionHandlerTest extends AbstractCompletionBasedTest {
 			@SuppressWarnings("unchecked")
 			Map<String,String> data = (Map<String, String>) item.getData();
 			assertNotNull(data);
-			assertTrue(isNotBlank(data.get(CompletionResolveHandler.DATA_FIELD_URI)));
+			assertEquals(2, data.size());
 			assertTrue(isNotBlank(data.get(CompletionResolveHandler.DATA_FIELD_PROPOSAL_ID)));
 			assertTrue(isNotBlank(data.get(CompletionResolveHandler.DATA_FIELD_REQUEST_ID)));
+			//the file uri is held server-side
+			CompletionResponse response = CompletionResponses.get(Long.valueOf(data.get(CompletionResolveHandler.DATA_FIELD_REQUEST_ID)));
+			assertNotNull(response);
+			assertEquals(JDTUtils.getFileURI(unit), response.getUri());
 		}
 	}
 
@@ -245,6 +250,75 @@ public class CompletionHandlerTest extends AbstractCompletionBasedTest {
 		//Not checking the range end character
 	}
 
+	@Test
+	public void testCompletion_parallelConversion() throws JavaModelException{
+		// enough proposals for several conversion chunks
+		StringBuilder fields = new StringBuilder();
+		for (int i = 0; i < 300; i++) {
+			fields.append("	int field").append(i).append(";\n");
+		}
+		ICompilationUnit unit = getWorkingCopy(
+				"src/java/Foo.java",
+				"public class Foo {\n"+
+						fields +
+						"	void foo() {\n"+
+						"		field\n"+
+						"	}\n"+
+				"}\n");
+		int offset = unit.getSource().lastIndexOf("field") + "field".length();
+
+		CompletionProposalRequestor sequential = new CompletionProposalRequestor(unit, offset);
+		unit.codeComplete(offset, sequential);
+		List<CompletionItem> expected = sequential.getCompletionItems();
+
+		CompletionProposalRequestor parallel = new CompletionProposalRequestor(unit, offset);
+		parallel.setParallelConversionThreshold(1);
+		unit.codeComplete(offset, parallel);
+		List<CompletionItem> actual = parallel.getCompletionItems();
+
+		assertTrue("Not enough proposals were found", expected.size() >= 300);
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			CompletionItem expectedItem = expected.get(i);
+			CompletionItem actualItem = actual.get(i);
+			assertEquals(expectedItem.getLabel(), actualItem.getLabel());
+			assertEquals(expectedItem.getKind(), actualItem.getKind());
+			assertEquals(expectedItem.getDetail(), actualItem.getDetail());
+			assertEquals(expectedItem.getSortText(), actualItem.getSortText());
+		}
+	}
+
+	@Test
+	public void testCompletion_deferredDetails() throws JavaModelException{
+		ICompilationUnit unit = getWorkingCopy(
+				"src/java/Foo.java",
+				"public class Foo {\n"+
+						"	void foo() {\n"+
+						"HashMap<String, String> map = new HashMap<>();\n"+
+						"map.pu\n" +
+						"	}\n"+
+				"}\n");
+		int offset = unit.getSource().lastIndexOf("map.pu") + "map.pu".length();
+
+		CompletionProposalRequestor collector = new CompletionProposalRequestor(unit, offset);
+		collector.setDeferDetails(true);
+		unit.codeComplete(offset, collector);
+		// labels are final, parameter names are included up front
+		CompletionItem ci = collector.getCompletionItems().stream()
+				.filter( item->  item.getLabel().matches("put\\(String \\w+, String \\w+\\) : String"))
+				.findFirst().orElse(null);
+		assertNotNull(ci);
+		String label = ci.getLabel();
+		assertEquals(CompletionItemKind.Function, ci.getKind());
+		assertTrue(isNotBlank(ci.getSortText()));
+		assertNull(ci.getDetail());
+		assertNull(ci.getTextEdit());
+
+		CompletionItem resolvedItem = server.resolveCompletionItem(ci).join();
+		assertEquals(label, resolvedItem.getLabel());
+		assertEquals("HashMap", resolvedItem.getDetail());
+		assertNotNull(resolvedItem.getTextEdit());
+	}
 
 	private String createCompletionRequest(ICompilationUnit unit, int line, int kar) {
 		return COMPLETION_TEMPLATE.replace("${file}", JDTUtils.getFileURI(unit))
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
+import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
+import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
+import org.eclipse.lsp4j.DocumentSymbolParams;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DocumentSymbolHandlerTest extends AbstractProjectsManagerBasedTest {
+
+	private IFile file;
+	private ICompilationUnit unit;
+
+	@Before
+	public void setup() throws Exception {
+		importProjects("eclipse/hello");
+		IProject project = WorkspaceHelper.getProject("hello");
+		file = project.getFile(new Path("src/java/Foo.java"));
+		unit = (ICompilationUnit) JavaCore.create(file);
+	}
+
+	@Test
+	public void testUnchangedDocument() throws Exception {
+		List<? extends SymbolInformation> symbols = getSymbols();
+		assertEquals(1, symbols.size());
+		assertSame(symbols.get(0), getSymbols().get(0));
+	}
+
+	@Test
+	public void testChangedDocument() throws Exception {
+		List<? extends SymbolInformation> symbols = getSymbols();
+		assertNotNull(getSymbol(symbols, "main"));
+		assertNull(getSymbol(symbols, "bar"));
+
+		String contents = unit.getSource();
+		int end = contents.lastIndexOf('}');
+		contents = contents.substring(0, end) + "\n\tpublic void bar() {\n\t}\n" + contents.substring(end);
+		file.setContents(new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8)), IResource.FORCE, null);
+
+		symbols = getSymbols();
+		assertEquals(2, symbols.size());
+		assertNotNull(getSymbol(symbols, "main"));
+		assertNotNull(getSymbol(symbols, "bar"));
+		assertSame(symbols.get(0), getSymbols().get(0));
+	}
+
+	private List<? extends SymbolInformation> getSymbols() throws Exception {
+		DocumentSymbolParams params = new DocumentSymbolParams();
+		params.setTextDocument(new TextDocumentIdentifier(JDTUtils.getFileURI(unit)));
+		return new DocumentSymbolHandler().documentSymbol(params).get();
+	}
+
+	private static SymbolInformation getSymbol(List<? extends SymbolInformation> symbols, String name) {
+		for (SymbolInformation symbol : symbols) {
+			if (name.equals(symbol.getName())) {
+				return symbol;
+			}
+		}
+		return null;
+	}
+}
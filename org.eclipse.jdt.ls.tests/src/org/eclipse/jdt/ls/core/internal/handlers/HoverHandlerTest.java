@@ -17,10 +17,15 @@ import static org.junit.Assert.assertNull;
 
 import java.net.URI;
 import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.ls.core.internal.ResourceUtils;
 import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
+import org.eclipse.jdt.ls.core.internal.hover.HoverCache;
 import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.TextDocumentPositionParams;
@@ -57,6 +62,7 @@ public class HoverHandlerTest extends AbstractProjectsManagerBasedTest {
 		importProjects("eclipse/hello");
 		project = WorkspaceHelper.getProject("hello");
 		handler = new HoverHandler();
+		HoverCache.getInstance().clear();
 	}
 
 	@Test
@@ -135,4 +141,40 @@ public class HoverHandlerTest extends AbstractProjectsManagerBasedTest {
 		String result = hover.getContents().get(0).getLeft();//wow this is so elegant!
 		assertEquals("Unexpected hover "+result, "String[] args - java.Foo.main(String[])", result);
 	}
+
+	@Test
+	public void testHoverCache() throws Exception {
+		ICompilationUnit unit = (ICompilationUnit) JavaCore.create(project.getFile(new Path("src/java/Foo.java")));
+		int offset = unit.getSource().indexOf("main");
+		AtomicInteger computations = new AtomicInteger();
+		HoverCache cache = HoverCache.getInstance();
+
+		//same token
+		assertEquals("hover1", cache.getHover(unit, offset, () -> "hover" + computations.incrementAndGet()));
+		assertEquals("hover1", cache.getHover(unit, offset + 2, () -> "hover" + computations.incrementAndGet()));
+		assertEquals(1, computations.get());
+
+		//another token
+		cache.getHover(unit, offset - 2, () -> "hover" + computations.incrementAndGet());
+		assertEquals(2, computations.get());
+
+		//document changed
+		cache.invalidate(unit);
+		cache.getHover(unit, offset, () -> "hover" + computations.incrementAndGet());
+		assertEquals(3, computations.get());
+	}
+
+	@Test
+	public void testHoverComputedDuringChangeNotCached() throws Exception {
+		ICompilationUnit unit = (ICompilationUnit) JavaCore.create(project.getFile(new Path("src/java/Foo.java")));
+		int offset = unit.getSource().indexOf("main");
+		HoverCache cache = HoverCache.getInstance();
+
+		// the document changes while the hover is computed on its previous content
+		assertEquals("stale", cache.getHover(unit, offset, () -> {
+			cache.invalidate(unit);
+			return "stale";
+		}));
+		assertEquals("fresh", cache.getHover(unit, offset, () -> "fresh"));
+	}
 }
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.jdt.ls.core.internal.JavaClientConnection;
+import org.eclipse.jdt.ls.core.internal.PartialResultNotification;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class PartialResultCollectorTest {
+
+	@Test
+	public void testBatches() {
+		JavaClientConnection connection = mock(JavaClientConnection.class);
+		PartialResultCollector<String> collector = new PartialResultCollector<>(connection, "1", "workspace/symbol", "query", 2, 0);
+		for (String result : Arrays.asList("a", "b", "c", "d", "e")) {
+			assertTrue(collector.add(result));
+		}
+
+		ArgumentCaptor<PartialResultNotification> notifications = ArgumentCaptor.forClass(PartialResultNotification.class);
+		verify(connection, times(2)).sendPartialResult(notifications.capture());
+		List<PartialResultNotification> sent = notifications.getAllValues();
+		assertEquals("1", sent.get(0).getId());
+		assertEquals("workspace/symbol", sent.get(0).getMethod());
+		assertEquals("query", sent.get(0).getParams());
+		assertEquals(Arrays.asList("a", "b"), sent.get(0).getItems());
+		assertEquals(Arrays.asList("c", "d"), sent.get(1).getItems());
+		assertEquals(Arrays.asList("a", "b", "c", "d", "e"), collector.getResults());
+	}
+
+	@Test
+	public void testMaxResults() {
+		PartialResultCollector<String> collector = new PartialResultCollector<>(null, null, "textDocument/references", null, 0, 2);
+		assertTrue(collector.add("a"));
+		assertFalse(collector.add("b"));
+		assertTrue(collector.isFull());
+		assertFalse(collector.add("c"));
+		assertEquals(Arrays.asList("a", "b"), collector.getResults());
+	}
+}
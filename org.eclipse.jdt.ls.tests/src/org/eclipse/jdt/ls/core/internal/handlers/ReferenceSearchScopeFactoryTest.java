@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
+import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
+import org.junit.Test;
+
+public class ReferenceSearchScopeFactoryTest extends AbstractProjectsManagerBasedTest {
+
+	@Test
+	public void testLocalVariableScope() throws Exception {
+		importProjects("eclipse/hello");
+		IJavaProject project = JavaCore.create(WorkspaceHelper.getProject("hello"));
+		IType foo = project.findType("java.Foo");
+		IType bar = project.findType("java.Bar");
+		IMethod main = foo.getMethod("main", new String[] { "[QString;" });
+
+		IJavaSearchScope scope = ReferenceSearchScopeFactory.create(main.getParameters()[0], IJavaSearchScope.SOURCES);
+		assertTrue(scope.encloses(foo.getCompilationUnit()));
+		assertFalse(scope.encloses(bar.getCompilationUnit()));
+	}
+
+	@Test
+	public void testPublicMemberScope() throws Exception {
+		importProjects("eclipse/multi");
+		ICompilationUnit foo = JavaCore.create(WorkspaceHelper.getProject("foo")).findType("foo.Foo").getCompilationUnit();
+		ICompilationUnit bar = JavaCore.create(WorkspaceHelper.getProject("bar")).findType("bar.Bar").getCompilationUnit();
+		IMethod main = foo.getType("Foo").getMethod("main", new String[] { "[QString;" });
+
+		//bar doesn't depend on foo
+		IJavaSearchScope scope = ReferenceSearchScopeFactory.create(main, IJavaSearchScope.SOURCES);
+		assertTrue(scope.encloses(foo));
+		assertFalse(scope.encloses(bar));
+	}
+
+	@Test
+	public void testContainerDependencyScope() throws Exception {
+		importProjects("maven/multimodule");
+		ICompilationUnit foo = JavaCore.create(WorkspaceHelper.getProject("module1")).findType("module1.Foo").getCompilationUnit();
+		ICompilationUnit bar = JavaCore.create(WorkspaceHelper.getProject("module2")).findType("module2.Bar").getCompilationUnit();
+		IMethod method = foo.getType("Foo").getMethod("foo", new String[0]);
+
+		//module2 gets module1 from the Maven classpath container
+		IJavaSearchScope scope = ReferenceSearchScopeFactory.create(method, IJavaSearchScope.SOURCES);
+		assertTrue(scope.encloses(foo));
+		assertTrue(scope.encloses(bar));
+	}
+}
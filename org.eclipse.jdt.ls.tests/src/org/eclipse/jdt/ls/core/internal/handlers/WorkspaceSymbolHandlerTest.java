@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.handlers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.ls.core.internal.JobHelpers;
+import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
+import org.eclipse.jdt.ls.core.internal.WorkspaceSymbolIndex;
+import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
+import org.eclipse.jdt.ls.core.internal.preferences.PreferenceManager;
+import org.eclipse.jdt.ls.core.internal.preferences.Preferences;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.SymbolKind;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WorkspaceSymbolHandlerTest extends AbstractProjectsManagerBasedTest {
+
+	private WorkspaceSymbolHandler handler;
+
+	@Before
+	public void setup() throws Exception {
+		importProjects("eclipse/hello");
+		WorkspaceSymbolIndex.getInstance().build(new NullProgressMonitor());
+		handler = new WorkspaceSymbolHandler(null);
+	}
+
+	@After
+	public void disposeIndex() {
+		WorkspaceSymbolIndex.getInstance().dispose();
+	}
+
+	@Test
+	public void testSearchType() {
+		List<SymbolInformation> symbols = handler.search("Foo");
+		assertFalse(symbols.isEmpty());
+		SymbolInformation foo = symbols.get(0);
+		assertEquals("Foo", foo.getName());
+		assertEquals(SymbolKind.Class, foo.getKind());
+		assertEquals("java", foo.getContainerName());
+		assertTrue(foo.getLocation().getUri().endsWith("Foo.java"));
+		Range range = foo.getLocation().getRange();
+		assertEquals(5, range.getStart().getLine());
+		assertEquals(13, range.getStart().getCharacter());
+		assertEquals(16, range.getEnd().getCharacter());
+	}
+
+	@Test
+	public void testUnsavedChanges() throws Exception {
+		WorkspaceSymbolIndex.getInstance().initialize();
+		waitForIndex();
+		ICompilationUnit foo = JavaCore.createCompilationUnitFrom(WorkspaceHelper.getProject("hello").getFile("src/java/Foo.java"));
+		foo.becomeWorkingCopy(new NullProgressMonitor());
+		try {
+			foo.getBuffer().replace(0, 0, "\n\n");
+			foo.reconcile(ICompilationUnit.NO_AST, false, null, null);
+			waitForIndex();
+			Range range = handler.search("Foo").get(0).getLocation().getRange();
+			assertEquals(7, range.getStart().getLine());
+			assertEquals(13, range.getStart().getCharacter());
+		} finally {
+			foo.discardWorkingCopy();
+		}
+		waitForIndex();
+		assertEquals(5, handler.search("Foo").get(0).getLocation().getRange().getStart().getLine());
+	}
+
+	@Test
+	public void testSearchMembers() {
+		List<SymbolInformation> symbols = handler.search("main");
+		assertEquals(2, symbols.size());
+		for (SymbolInformation symbol : symbols) {
+			assertEquals("main", symbol.getName());
+			assertEquals(SymbolKind.Function, symbol.getKind());
+		}
+	}
+
+	@Test
+	public void testCamelCaseSearch() {
+		List<SymbolInformation> symbols = handler.search("sFJ");
+		assertEquals(1, symbols.size());
+		assertEquals("somethingFromJPAModelGen", symbols.get(0).getName());
+		assertEquals("java.Bar", symbols.get(0).getContainerName());
+	}
+
+	@Test
+	public void testMaxResults() {
+		assertTrue(handler.search("").size() > 2);
+
+		PreferenceManager preferenceManager = mock(PreferenceManager.class);
+		when(preferenceManager.getPreferences()).thenReturn(Preferences.createFrom(Collections.singletonMap(Preferences.SYMBOLS_MAX_RESULTS_KEY, 2)));
+		List<SymbolInformation> symbols = new WorkspaceSymbolHandler(preferenceManager).search("");
+		assertEquals(2, symbols.size());
+		//types first
+		assertEquals(SymbolKind.Class, symbols.get(0).getKind());
+		assertEquals(SymbolKind.Class, symbols.get(1).getKind());
+
+		// the search results limit doesn't apply to symbols
+		when(preferenceManager.getPreferences()).thenReturn(Preferences.createFrom(Collections.singletonMap(Preferences.SEARCH_MAX_RESULTS_KEY, 1)));
+		assertTrue(new WorkspaceSymbolHandler(preferenceManager).search("").size() > 2);
+	}
+
+	@Test
+	public void testHiddenGeneratedMembers() {
+		assertTrue(handler.search("somethingFromLombok").isEmpty());
+	}
+
+	private static void waitForIndex() {
+		JobHelpers.waitForJobs(job -> job.getName().endsWith("workspace symbol index"), 10000);
+	}
+}
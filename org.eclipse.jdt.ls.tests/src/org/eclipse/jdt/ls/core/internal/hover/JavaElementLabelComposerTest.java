@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.hover;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
+import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JavaElementLabelComposerTest extends AbstractProjectsManagerBasedTest {
+
+	private static final long FLAGS = JavaElementLabels.M_PARAMETER_TYPES | JavaElementLabels.M_PARAMETER_NAMES;
+
+	private IFile file;
+	private ICompilationUnit unit;
+
+	@Before
+	public void setup() throws Exception {
+		importProjects("eclipse/hello");
+		IProject project = WorkspaceHelper.getProject("hello");
+		file = project.getFile(new Path("src/java/Foo.java"));
+		unit = (ICompilationUnit) JavaCore.create(file);
+		JavaElementLabelComposer.clearLabels();
+	}
+
+	@After
+	public void clearLabels() {
+		JavaElementLabelComposer.clearLabels();
+	}
+
+	@Test
+	public void testCachedLabel() throws Exception {
+		assertEquals("main(String[] args)", getMainLabel());
+
+		unit.becomeWorkingCopy(new NullProgressMonitor());
+		try {
+			// the working copy changes, the file doesn't
+			renameParameter(unit);
+			assertEquals("main(String[] args)", getMainLabel());
+
+			JavaElementLabelComposer.invalidateLabels(unit);
+			assertEquals("main(String[] arguments)", getMainLabel());
+		} finally {
+			unit.discardWorkingCopy();
+		}
+	}
+
+	@Test
+	public void testSourceChange() throws Exception {
+		assertEquals("main(String[] args)", getMainLabel());
+
+		String contents = unit.getSource().replace("String[] args", "String[] arguments");
+		file.setContents(new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8)), IResource.FORCE, null);
+		assertEquals("main(String[] arguments)", getMainLabel());
+	}
+
+	private String getMainLabel() {
+		IMethod main = unit.getType("Foo").getMethod("main", new String[] { "[QString;" });
+		StringBuilder label = new StringBuilder();
+		new JavaElementLabelComposer(label).appendCachedElementLabel(main, FLAGS);
+		return label.toString();
+	}
+
+	private static void renameParameter(ICompilationUnit workingCopy) throws Exception {
+		String contents = workingCopy.getBuffer().getContents();
+		workingCopy.getBuffer().replace(contents.indexOf("args"), "args".length(), "arguments");
+		workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+	}
+}
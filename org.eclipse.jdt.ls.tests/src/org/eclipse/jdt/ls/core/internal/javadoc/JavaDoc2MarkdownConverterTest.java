@@ -17,6 +17,12 @@ import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.jdt.ls.core.internal.Util;
 import org.junit.Test;
@@ -123,7 +129,7 @@ public class JavaDoc2MarkdownConverterTest {
 	 * @unknown unknown tag
 	 * @unknown another unknown tag
 	 */
-	private static final String RAW_JAVADOC_0 =
+	static final String RAW_JAVADOC_0 =
 			"This Javadoc  contains some <code> code </code>, a link to {@link IOException} and a table \n" +
 					"<table>\n" +
 					"  <thead><tr><th>header 1</th><th>header 2</th></tr></thead>\n" +
@@ -182,4 +188,22 @@ public class JavaDoc2MarkdownConverterTest {
 		Reader reader2 = converter.getAsReader();
 		assertNotSame(reader1, reader2);
 	}
+
+	@Test
+	public void testConcurrentConversions() throws Exception {
+		String expected = Util.convertToIndependentLineDelimiter(MARKDOWN_0);
+		int threads = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Callable<String>> conversions = new ArrayList<>();
+			for (int i = 0; i < threads * 25; i++) {
+				conversions.add(() -> new JavaDoc2MarkdownConverter(RAW_JAVADOC_0).getAsString());
+			}
+			for (Future<String> result : executor.invokeAll(conversions)) {
+				assertEquals(expected, Util.convertToIndependentLineDelimiter(result.get()));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
 }
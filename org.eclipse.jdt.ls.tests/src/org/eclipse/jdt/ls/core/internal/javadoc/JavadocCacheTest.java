@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.javadoc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
+import org.eclipse.jdt.ls.core.internal.managers.AbstractProjectsManagerBasedTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JavadocCacheTest extends AbstractProjectsManagerBasedTest {
+
+	private IProject project;
+	private IType type;
+
+	@Before
+	public void setup() throws Exception {
+		importProjects("eclipse/hello");
+		project = WorkspaceHelper.getProject("hello");
+		ICompilationUnit unit = (ICompilationUnit) JavaCore.create(project.getFile(new Path("src/java/Foo.java")));
+		type = unit.getType("Foo");
+		JavadocCache.getInstance().clear();
+	}
+
+	@After
+	public void clearCache() {
+		JavadocCache.getInstance().clear();
+	}
+
+	@Test
+	public void testCachedContent() throws Exception {
+		String javadoc = JavadocCache.getInstance().getHTMLContent(type, true, true);
+		assertEquals("This is foo", javadoc);
+		assertSame(javadoc, JavadocCache.getInstance().getHTMLContent(type, true, true));
+	}
+
+	@Test
+	public void testInvalidate() throws Exception {
+		String javadoc = JavadocCache.getInstance().getHTMLContent(type, true, true);
+		JavadocCache.getInstance().invalidate(type.getCompilationUnit());
+		String recomputed = JavadocCache.getInstance().getHTMLContent(type, true, true);
+		assertEquals(javadoc, recomputed);
+		assertNotSame(javadoc, recomputed);
+	}
+
+	@Test
+	public void testInvalidateInheritedContent() throws Exception {
+		IFile foo = project.getFile(new Path("src/java/Foo.java"));
+		IFile bar = project.getFile(new Path("src/java/Bar.java"));
+		setContents(foo, "package java;\npublic class Foo {\n	/** Greets */\n	public void greet() {}\n}\n");
+		setContents(bar, "package java;\npublic class Bar extends Foo {\n	public void greet() {}\n}\n");
+		IMethod greet = ((ICompilationUnit) JavaCore.create(bar)).getType("Bar").getMethod("greet", new String[0]);
+		assertTrue(JavadocCache.getInstance().getHTMLContent(greet, true, true).contains("Greets"));
+
+		// only the superclass changes
+		setContents(foo, "package java;\npublic class Foo {\n	/** Says hello */\n	public void greet() {}\n}\n");
+		JavadocCache.getInstance().invalidate((ICompilationUnit) JavaCore.create(foo));
+		assertTrue(JavadocCache.getInstance().getHTMLContent(greet, true, true).contains("Says hello"));
+	}
+
+	private void setContents(IFile file, String contents) throws Exception {
+		file.setContents(new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8)), IResource.FORCE, null);
+	}
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.javadoc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.javadoc.JavadocIndex.JavadocProvider;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class JavadocIndexTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File archive;
+	private AtomicInteger lookups = new AtomicInteger();
+	private JavadocProvider provider = () -> {
+		lookups.incrementAndGet();
+		return "This is foo";
+	};
+
+	@Before
+	public void setup() throws Exception {
+		archive = folder.newFile("lib.jar");
+		Files.write(archive.toPath(), "archive".getBytes(StandardCharsets.UTF_8));
+		JavadocIndex.getInstance().clear();
+	}
+
+	@After
+	public void clearIndex() {
+		JavadocIndex.getInstance().clear();
+	}
+
+	@Test
+	public void testIndexHit() throws Exception {
+		assertEquals("This is foo", JavadocIndex.getInstance().getJavadoc(archive, "foo", provider));
+		assertEquals(1, lookups.get());
+		assertEquals("This is foo", JavadocIndex.getInstance().getJavadoc(archive, "foo", () -> {
+			fail("Javadoc should be read from the index");
+			return null;
+		}));
+	}
+
+	@Test
+	public void testIndexMiss() throws Exception {
+		JavadocIndex.getInstance().getJavadoc(archive, "foo", provider);
+		JavadocIndex.getInstance().getJavadoc(archive, "bar", provider);
+		assertEquals(2, lookups.get());
+	}
+
+	@Test
+	public void testMissingJavadocNotIndexed() throws Exception {
+		assertNull(JavadocIndex.getInstance().getJavadoc(archive, "foo", () -> null));
+		assertEquals("This is foo", JavadocIndex.getInstance().getJavadoc(archive, "foo", provider));
+		assertEquals(1, lookups.get());
+	}
+
+	@Test
+	public void testReload() throws Exception {
+		JavadocIndex.getInstance().getJavadoc(archive, "foo", provider);
+		// saves the index and forgets it
+		JavadocIndex.getInstance().clear();
+
+		assertEquals("This is foo", JavadocIndex.getInstance().getJavadoc(archive, "foo", provider));
+		assertEquals(1, lookups.get());
+	}
+
+	@Test
+	public void testModifiedArchive() throws Exception {
+		JavadocIndex.getInstance().getJavadoc(archive, "foo", provider);
+		JavadocIndex.getInstance().clear();
+
+		Files.write(archive.toPath(), "rebuilt archive".getBytes(StandardCharsets.UTF_8));
+		JavadocIndex.getInstance().getJavadoc(archive, "foo", provider);
+		assertEquals(2, lookups.get());
+	}
+
+	@Test
+	public void testUnloadLeastRecentlyUsed() throws Exception {
+		JavadocIndex.getInstance().getJavadoc(archive, "foo", provider);
+		for (int i = 0; i < JavadocIndex.MAX_LOADED_INDEXES; i++) {
+			File other = folder.newFile("lib" + i + ".jar");
+			Files.write(other.toPath(), ("archive" + i).getBytes(StandardCharsets.UTF_8));
+			JavadocIndex.getInstance().getJavadoc(other, "foo", provider);
+		}
+		assertEquals(JavadocIndex.MAX_LOADED_INDEXES + 1, lookups.get());
+
+		// unloaded, but saved first
+		assertEquals("This is foo", JavadocIndex.getInstance().getJavadoc(archive, "foo", provider));
+		assertEquals(JavadocIndex.MAX_LOADED_INDEXES + 1, lookups.get());
+	}
+
+	@Test
+	public void testDeleteUnusedIndexes() throws Exception {
+		File indexFolder = JavaLanguageServerPlugin.getStateLocation().append("javadoc-index").toFile();
+		indexFolder.mkdirs();
+		File unused = new File(indexFolder, "unused.properties");
+		Files.write(unused.toPath(), "foo=bar".getBytes(StandardCharsets.UTF_8));
+		unused.setLastModified(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(JavadocIndex.MAX_UNUSED_DAYS + 1));
+		File used = new File(indexFolder, "used.properties");
+		Files.write(used.toPath(), "foo=bar".getBytes(StandardCharsets.UTF_8));
+
+		JavadocIndex.getInstance().deleteUnusedIndexes(TimeUnit.DAYS.toMillis(JavadocIndex.MAX_UNUSED_DAYS));
+		assertFalse(unused.exists());
+		assertTrue(used.exists());
+		used.delete();
+	}
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.javadoc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+/**
+ * Tests the single pass HTML to Markdown conversion against the output of
+ * Remark, which it must match
+ */
+public class StreamingMarkdownConverterTest {
+
+	private static final String TAG_SECTIONS = "This is <code>foo</code>.\n" +
+			" @param a the a\n" +
+			" @return the result\n";
+
+	@Test
+	public void testInlineTags() throws IOException {
+		assertSameAsRemark("Some <code> code </code>, <b>bold</b> and <i>italic</i> text");
+		assertSameAsRemark("<strong>1.</strong> <em>first</em> and <tt>2. second</tt>");
+	}
+
+	@Test
+	public void testLinks() throws IOException {
+		assertSameAsRemark("<a href=\"mailto:foo@bar.com\">Ralf</a> and <a href='http://foo.org'>http://foo.org</a>");
+	}
+
+	@Test
+	public void testParagraphs() throws IOException {
+		assertSameAsRemark("First<p>Second<br>Third");
+		assertSameAsRemark("Released in 2017. Since 1.0<br>1 2. 3");
+	}
+
+	@Test
+	public void testEntities() throws IOException {
+		assertSameAsRemark("a &lt;b&gt; &amp; &#65;");
+	}
+
+	@Test
+	public void testLists() throws IOException {
+		assertSameAsRemark("Items:<ul><li>one</li><li><b>two</b><ul><li>nested</li></ul></li></ul>");
+	}
+
+	@Test
+	public void testTagSections() throws IOException {
+		String html = getHtml(TAG_SECTIONS);
+		assertSameAsRemark(html);
+		assertEquals(JavaDoc2MarkdownConverter.convertWithRemark(html), new JavaDoc2MarkdownConverter(TAG_SECTIONS).getAsString());
+	}
+
+	@Test
+	public void testLineStartEscaping() throws IOException {
+		assertFallsBack("1. foo");
+		assertFallsBack("foo<br>2. bar");
+		assertFallsBack("foo<p>10) bar");
+		assertFallsBack("<ul><li>3. baz</li></ul>");
+		assertFallsBack("foo<br># bar");
+		assertFallsBack("<ul><li>- baz</li></ul>");
+		assertFallsBack("* foo");
+		assertFallsBack("foo<br>*bar*");
+		// leading whitespace is collapsed, not turned into an indented code block
+		assertSameAsRemark("foo<br>        bar");
+		assertSameAsRemark("        foo");
+	}
+
+	@Test
+	public void testFixtures() throws IOException {
+		// tables are left to Remark
+		assertFallsBack(getHtml(JavaDoc2MarkdownConverterTest.RAW_JAVADOC_0));
+		assertSameAsRemark(getHtml(TAG_SECTIONS));
+	}
+
+	@Test
+	public void testUnsupported() throws IOException {
+		String html = "a <table><tr><td>x</td></tr></table> b";
+		StreamingMarkdownConverter converter = new StreamingMarkdownConverter(new StringReader(html));
+		assertNull(converter.convert());
+		assertEquals(html, converter.getHtml());
+		assertFallsBack("snake_case");
+	}
+
+	/**
+	 * Asserts the single pass conversion supports the HTML and produces the
+	 * same Markdown as Remark
+	 */
+	private static void assertSameAsRemark(String html) throws IOException {
+		String markdown = convert(html);
+		assertNotNull(html, markdown);
+		assertEquals(html, JavaDoc2MarkdownConverter.convertWithRemark(html), markdown);
+	}
+
+	/**
+	 * Asserts the HTML is left to Remark, to be escaped
+	 */
+	private static void assertFallsBack(String html) throws IOException {
+		assertNull(html, convert(html));
+	}
+
+	private static String getHtml(String javadoc) throws IOException {
+		return new StreamingMarkdownConverter(new JavaDoc2HTMLTextReader(new StringReader(javadoc))).getHtml();
+	}
+
+	private static String convert(String html) throws IOException {
+		return new StreamingMarkdownConverter(new StringReader(html)).convert();
+	}
+}
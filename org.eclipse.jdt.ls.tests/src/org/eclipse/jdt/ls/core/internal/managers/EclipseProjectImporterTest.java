@@ -12,12 +12,18 @@ package org.eclipse.jdt.ls.core.internal.managers;
 
 import static org.eclipse.jdt.ls.core.internal.WorkspaceHelper.getProject;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
+import org.apache.commons.io.FileUtils;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.IWorkspaceRoot;
@@ -55,6 +61,33 @@ public class EclipseProjectImporterTest extends AbstractProjectsManagerBasedTest
 		assertIsJavaProject(foo);
 	}
 
+	@Test
+	public void reimportExistingProject() throws Exception {
+		importProjects("eclipse/hello");
+		IProject project = getProject("hello");
+		File projectDir = new File(getWorkingProjectDirectory(), "eclipse/hello");
+		// added behind the workspace's back, only a refresh finds it
+		File file = new File(projectDir, "src/java/Baz.java");
+		FileUtils.writeStringToFile(file, "package java;\npublic class Baz {}\n");
+		assertFalse(project.getFile("src/java/Baz.java").exists());
+
+		importer.initialize(projectDir);
+		importer.importToWorkspace(monitor);
+
+		// refreshed by the import itself, before the projects are built
+		assertTrue(project.getFile("src/java/Baz.java").exists());
+	}
+
+	@Test
+	public void testExcludedDirectories() throws Exception {
+		File root = new File(getSourceProjectDirectory(), "eclipse/multi");
+		importer = new EclipseProjectImporter(Collections.singletonList("**/foo"));
+		importer.initialize(root);
+		Collection<File> projectFiles = importer.getProjectFiles(monitor);
+		assertEquals(1, projectFiles.size());
+		assertEquals("bar", projectFiles.iterator().next().getParentFile().getName());
+	}
+
 
 
 	@Test
@@ -10,6 +10,10 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.managers;
 
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+
 import org.junit.Test;
 
 /**
@@ -23,4 +27,15 @@ public class GradleProjectImporterTest extends AbstractGradleBasedTest{
 		importSimpleJavaProject();
 	}
 
+	@Test
+	public void testNoFingerprintOfBackgroundImport() throws Exception {
+		importSimpleJavaProject();
+		File root = new File(getWorkingProjectDirectory(), "gradle/simple-gradle");
+
+		// the synchronization may not have succeeded when the import returns
+		projectsManager.initializeProjects(root.getAbsolutePath(), monitor);
+		waitForBackgroundJobs();
+		assertFalse(projectsManager.isWorkspaceUpToDate());
+	}
+
 }
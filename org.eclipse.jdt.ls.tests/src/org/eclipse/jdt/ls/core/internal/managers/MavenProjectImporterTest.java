@@ -10,6 +10,14 @@
  *******************************************************************************/
 package org.eclipse.jdt.ls.core.internal.managers;
 
+import static org.eclipse.jdt.ls.core.internal.ProjectUtils.getJavaSourceLevel;
+import static org.eclipse.jdt.ls.core.internal.WorkspaceHelper.getProject;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.core.resources.IProject;
 import org.junit.Test;
 
 /**
@@ -22,5 +30,22 @@ public class MavenProjectImporterTest extends AbstractMavenBasedTest {
 		importSimpleJavaProject();
 	}
 
+	@Test
+	public void testReimportExistingProject() throws Exception {
+		IProject project = importSimpleJavaProject();
+		File projectDir = new File(getWorkingProjectDirectory(), "maven/salut");
+		File pom = new File(projectDir, "pom.xml");
+		String contents = FileUtils.readFileToString(pom);
+		FileUtils.writeStringToFile(pom, contents.replace("<source>1.7</source>", "<source>1.8</source>").replace("<target>1.7</target>", "<target>1.8</target>"));
+
+		MavenProjectImporter importer = new MavenProjectImporter();
+		importer.initialize(projectDir);
+		importer.importToWorkspace(monitor);
+
+		// the existing project is updated, not imported again
+		assertEquals(project, getProject("salut"));
+		assertEquals("1.8", getJavaSourceLevel(project));
+	}
+
 
 }
\ No newline at end of file
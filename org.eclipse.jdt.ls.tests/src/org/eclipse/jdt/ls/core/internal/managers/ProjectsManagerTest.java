@@ -12,14 +12,28 @@ package org.eclipse.jdt.ls.core.internal.managers;
 
 import static org.eclipse.jdt.ls.core.internal.JobHelpers.waitForJobsToComplete;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.ls.core.internal.JavaClientConnection.JavaLanguageClient;
+import org.eclipse.jdt.ls.core.internal.ServiceStatus;
+import org.eclipse.jdt.ls.core.internal.StatusReport;
 import org.eclipse.jdt.ls.core.internal.WorkspaceHelper;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 /**
  * @author Fred Bricon
@@ -39,4 +53,62 @@ public class ProjectsManagerTest extends AbstractProjectsManagerBasedTest {
 		assertTrue("the default project doesn't exist", result.exists());
 	}
 
+	@Test
+	public void testSkipImportOfUnchangedWorkspace() throws Exception {
+		importProjects("eclipse/hello");
+		assertFalse(projectsManager.isWorkspaceUpToDate());
+		File root = new File(getWorkingProjectDirectory(), "eclipse/hello");
+
+		projectsManager.initializeProjects(root.getAbsolutePath(), monitor);
+		waitForJobsToComplete();
+		assertTrue(projectsManager.isWorkspaceUpToDate());
+
+		File classpath = new File(root, ".classpath");
+		Files.write(classpath.toPath(), "\n".getBytes(), StandardOpenOption.APPEND);
+		projectsManager.initializeProjects(root.getAbsolutePath(), monitor);
+		waitForJobsToComplete();
+		assertFalse(projectsManager.isWorkspaceUpToDate());
+	}
+
+	@Test
+	public void testIncrementalBuildOfBuiltWorkspace() throws Exception {
+		importProjects("eclipse/hello");
+		assertEquals(IncrementalProjectBuilder.FULL_BUILD, projectsManager.getBuildKind());
+		File root = new File(getWorkingProjectDirectory(), "eclipse/hello");
+
+		// unchanged, but never built
+		projectsManager.initializeProjects(root.getAbsolutePath(), monitor);
+		waitForJobsToComplete();
+		assertTrue(projectsManager.isWorkspaceUpToDate());
+		assertEquals(IncrementalProjectBuilder.FULL_BUILD, projectsManager.getBuildKind());
+
+		projectsManager.buildWorkspace(monitor);
+		projectsManager.initializeProjects(root.getAbsolutePath(), monitor);
+		waitForJobsToComplete();
+		assertEquals(IncrementalProjectBuilder.INCREMENTAL_BUILD, projectsManager.getBuildKind());
+	}
+
+	@Test
+	public void testReportProjectsReady() throws Exception {
+		importProjects("eclipse/multi");
+		JavaLanguageClient client = mock(JavaLanguageClient.class);
+		projectsManager.setConnection(client);
+		ICompilationUnit unit = JavaCore.createCompilationUnitFrom(WorkspaceHelper.getProject("foo").getFile("src/foo/Foo.java"));
+		unit.becomeWorkingCopy(monitor);
+		try {
+			projectsManager.buildWorkspace(monitor);
+		} finally {
+			unit.discardWorkingCopy();
+		}
+
+		ArgumentCaptor<StatusReport> reports = ArgumentCaptor.forClass(StatusReport.class);
+		verify(client, times(3)).sendStatusReport(reports.capture());
+		List<StatusReport> values = reports.getAllValues();
+		// the project of the opened document comes first
+		assertEquals("foo is ready (1/3)", values.get(0).getMessage());
+		assertEquals(ServiceStatus.Message.name(), values.get(0).getType());
+		assertTrue(values.get(1).getMessage().endsWith(" is ready (2/3)"));
+		assertTrue(values.get(2).getMessage().endsWith(" is ready (3/3)"));
+	}
+
 }
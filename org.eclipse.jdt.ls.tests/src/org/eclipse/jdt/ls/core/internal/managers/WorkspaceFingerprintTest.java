@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2017 Red Hat Inc. and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat Inc. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ls.core.internal.managers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.File;
+import java.util.Collections;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class WorkspaceFingerprintTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private WorkspaceFingerprint fingerprint;
+
+	@Before
+	public void setup() {
+		fingerprint = new WorkspaceFingerprint(Collections.emptyList());
+	}
+
+	@Test
+	public void testGradleFiles() throws Exception {
+		File root = folder.newFolder("gradle");
+		FileUtils.writeStringToFile(new File(root, "build.gradle"), "apply plugin: 'java'\n");
+		File script = new File(root, "gradle/dependencies.gradle");
+		FileUtils.writeStringToFile(script, "ext.junit = '4.12'\n");
+		File wrapper = new File(root, "gradle/wrapper/gradle-wrapper.properties");
+		FileUtils.writeStringToFile(wrapper, "distributionUrl=gradle-3.3-bin.zip\n");
+		String initial = compute(root);
+		assertEquals(initial, compute(root));
+
+		FileUtils.writeStringToFile(script, "ext.junit = '4.13'\n");
+		String changedScript = compute(root);
+		assertNotEquals(initial, changedScript);
+
+		FileUtils.writeStringToFile(wrapper, "distributionUrl=gradle-3.4-bin.zip\n");
+		assertNotEquals(changedScript, compute(root));
+	}
+
+	@Test
+	public void testExternalParentPom() throws Exception {
+		File parent = folder.newFolder("parent");
+		File parentPom = new File(parent, "pom.xml");
+		FileUtils.writeStringToFile(parentPom, pom("parent", null, "1"));
+		File root = folder.newFolder("module");
+		FileUtils.writeStringToFile(new File(root, "pom.xml"), pom("module", "../parent", "1"));
+		String initial = compute(root);
+
+		FileUtils.writeStringToFile(parentPom, pom("parent", null, "2"));
+		assertNotEquals(initial, compute(root));
+	}
+
+	private String compute(File root) throws Exception {
+		return fingerprint.compute(root, new NullProgressMonitor());
+	}
+
+	private static String pom(String artifactId, String parentPath, String version) {
+		StringBuilder pom = new StringBuilder("<project>\n<modelVersion>4.0.0</modelVersion>\n");
+		if (parentPath != null) {
+			pom.append("<parent><groupId>test</groupId><artifactId>parent</artifactId><version>").append(version)
+					.append("</version><relativePath>").append(parentPath).append("</relativePath></parent>\n");
+		}
+		pom.append("<groupId>test</groupId><artifactId>").append(artifactId).append("</artifactId><version>").append(version).append("</version>\n</project>\n");
+		return pom.toString();
+	}
+}